@@ -0,0 +1,211 @@
+/* Copyright (c) 2026 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.jci;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/**
+ * An arena of off-heap memory for bytecode, which is allocated in direct {@link ByteBuffer} chunks of growing size, and freed
+ * deterministically when the arena is closed.
+ * <p>
+ * Since access to freed off-heap memory is undefined, all reads of the buffers allocated from the arena must be performed while
+ * synchronized on the arena, and after checking that the arena is not {@linkplain #isClosed() closed}.
+ */
+final class BytecodeArena implements AutoCloseable {
+  private static final int minChunkSize = 64 * 1024;
+  private static final int maxChunkSize = 4 * 1024 * 1024;
+
+  private interface Deallocator {
+    void free(ByteBuffer buffer) throws Exception;
+  }
+
+  /** Frees a direct {@link ByteBuffer}, or {@code null} if the JVM does not allow it, in which case the GC frees the buffer. */
+  private static final Deallocator deallocator;
+
+  static {
+    Deallocator d;
+    try {
+      // JDK 9+
+      final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      final Object unsafe = theUnsafe.get(null);
+      final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      d = (final ByteBuffer buffer) -> invokeCleaner.invoke(unsafe, buffer);
+    }
+    catch (final Exception e) {
+      try {
+        // JDK 8
+        final Method cleaner = ByteBuffer.allocateDirect(0).getClass().getMethod("cleaner");
+        cleaner.setAccessible(true);
+        final Method clean = cleaner.getReturnType().getMethod("clean");
+        clean.setAccessible(true);
+        d = (final ByteBuffer buffer) -> {
+          final Object c = cleaner.invoke(buffer);
+          if (c != null)
+            clean.invoke(c);
+        };
+      }
+      catch (final Exception e1) {
+        d = null;
+      }
+    }
+
+    deallocator = d;
+  }
+
+  private final ArrayList<ByteBuffer> chunks = new ArrayList<>();
+  private int chunkSize = minChunkSize;
+  private long allocated;
+  private ByteBuffer chunk;
+  private boolean closed;
+
+  /**
+   * Returns a new off-heap {@link ByteBuffer} of the specified length, positioned at {@code 0}.
+   *
+   * @param length The length of the buffer.
+   * @return A new off-heap {@link ByteBuffer} of the specified length, positioned at {@code 0}.
+   * @throws IllegalStateException If this arena is closed.
+   */
+  synchronized ByteBuffer allocate(final int length) {
+    if (closed)
+      throw new IllegalStateException("BytecodeArena is closed");
+
+    if (chunk == null || chunk.remaining() < length) {
+      // Since the total is not known in advance, the chunk size is doubled with each chunk, up to the maximum chunk size
+      chunk = ByteBuffer.allocateDirect(Math.max(length, chunkSize));
+      chunkSize = Math.min(chunkSize * 2, maxChunkSize);
+      chunks.add(chunk);
+      allocated += chunk.capacity();
+    }
+
+    final ByteBuffer buffer = chunk.slice();
+    buffer.limit(length);
+    chunk.position(chunk.position() + length);
+    return buffer;
+  }
+
+  /**
+   * Returns the number of bytes of off-heap memory held by this arena, which is {@code 0} once the arena is closed.
+   *
+   * @return The number of bytes of off-heap memory held by this arena, which is {@code 0} once the arena is closed.
+   */
+  synchronized long getAllocated() {
+    return closed ? 0 : allocated;
+  }
+
+  /**
+   * Returns whether this arena is closed.
+   *
+   * @return Whether this arena is closed.
+   */
+  synchronized boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Returns a copy of the contents of the specified buffer, which was allocated from this arena.
+   *
+   * @param buffer The buffer.
+   * @return A copy of the contents of the specified buffer.
+   * @throws IllegalStateException If this arena is closed.
+   */
+  synchronized byte[] getBytes(final ByteBuffer buffer) {
+    if (closed)
+      throw new IllegalStateException("BytecodeArena is closed");
+
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Returns an {@link InputStream} of the contents of the specified buffer, which was allocated from this arena. Reads from the
+   * stream throw an {@link IOException} once this arena is closed.
+   *
+   * @param buffer The buffer.
+   * @return An {@link InputStream} of the contents of the specified buffer.
+   */
+  InputStream newInputStream(final ByteBuffer buffer) {
+    final ByteBuffer b = buffer.duplicate();
+    return new InputStream() {
+      @Override
+      public int read() throws IOException {
+        synchronized (BytecodeArena.this) {
+          if (closed)
+            throw new IOException("BytecodeArena is closed");
+
+          return b.hasRemaining() ? b.get() & 0xff : -1;
+        }
+      }
+
+      @Override
+      public int read(final byte[] bytes, final int off, final int len) throws IOException {
+        synchronized (BytecodeArena.this) {
+          if (closed)
+            throw new IOException("BytecodeArena is closed");
+
+          if (len == 0)
+            return 0;
+
+          if (!b.hasRemaining())
+            return -1;
+
+          final int n = Math.min(len, b.remaining());
+          b.get(bytes, off, n);
+          return n;
+        }
+      }
+
+      @Override
+      public int available() {
+        synchronized (BytecodeArena.this) {
+          return closed ? 0 : b.remaining();
+        }
+      }
+    };
+  }
+
+  /**
+   * Frees the off-heap memory of this arena. If the JVM does not allow direct buffers to be freed explicitly, the memory is freed
+   * when the buffers are garbage collected.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed)
+      return;
+
+    closed = true;
+    chunk = null;
+    if (deallocator != null) {
+      try {
+        for (int i = 0, i$ = chunks.size(); i < i$; ++i) // [RA]
+          deallocator.free(chunks.get(i));
+      }
+      catch (final Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    chunks.clear();
+  }
+}
@@ -0,0 +1,55 @@
+/* Copyright (c) 2026 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.jci;
+
+/**
+ * A transformer of compiled bytecode, which is applied by the {@link InMemoryCompiler} to each compiled class after compilation,
+ * and before the class is defined. Transformers of a compilation are applied in parallel across classes, and in the order they
+ * were added for each class. Implementations must therefore be thread safe.
+ *
+ * @see InMemoryCompiler#addTransformer(BytecodeTransformer)
+ */
+@FunctionalInterface
+public interface BytecodeTransformer {
+  /**
+   * A {@link BytecodeTransformer} that removes the debug attributes ({@code SourceFile}, {@code SourceDebugExtension},
+   * {@code LineNumberTable}, {@code LocalVariableTable} and {@code LocalVariableTypeTable}) from a class file.
+   */
+  BytecodeTransformer STRIP_DEBUG_ATTRIBUTES = new ClassFileStripper(true, false);
+
+  /**
+   * A {@link BytecodeTransformer} that removes the entries in the constant pool of a class file that are not referenced by the
+   * class file. Class files with attributes unknown to this transformer are left unchanged.
+   */
+  BytecodeTransformer STRIP_UNUSED_CONSTANTS = new ClassFileStripper(false, true);
+
+  /**
+   * A {@link BytecodeTransformer} that is equivalent to {@link #STRIP_DEBUG_ATTRIBUTES} followed by
+   * {@link #STRIP_UNUSED_CONSTANTS}, performed in a single pass.
+   */
+  BytecodeTransformer STRIP_ALL = new ClassFileStripper(true, true);
+
+  /**
+   * Returns the transformed bytecode of the class with the specified name.
+   *
+   * @param className The binary name of the class.
+   * @param bytecode The bytecode of the class.
+   * @return The transformed bytecode of the class, or {@code bytecode} if the class is not transformed.
+   * @throws IllegalArgumentException If {@code bytecode} is not a valid class file.
+   */
+  byte[] transform(String className, byte[] bytecode);
+}
@@ -0,0 +1,780 @@
+/* Copyright (c) 2026 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.jci;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@link BytecodeTransformer} that strips debug attributes and/or unused constant pool entries from a class file, as per the
+ * <a href="https://docs.oracle.com/javase/specs/jvms/se17/html/jvms-4.html">JVMS Chapter 4</a>.
+ * <p>
+ * The class file is walked once with the original constant pool indices, which marks the constant pool entries that are
+ * referenced by the retained structures. If unused entries are to be stripped, the class file is walked a second time with the
+ * constant pool indices remapped to the compacted constant pool. Since entries are only ever removed, the remapped index of an
+ * entry is never greater than its original index, and the {@code ldc} instruction therefore remains valid.
+ */
+final class ClassFileStripper implements BytecodeTransformer {
+  private static final int CONSTANT_Utf8 = 1;
+  private static final int CONSTANT_Integer = 3;
+  private static final int CONSTANT_Float = 4;
+  private static final int CONSTANT_Long = 5;
+  private static final int CONSTANT_Double = 6;
+  private static final int CONSTANT_Class = 7;
+  private static final int CONSTANT_String = 8;
+  private static final int CONSTANT_Fieldref = 9;
+  private static final int CONSTANT_Methodref = 10;
+  private static final int CONSTANT_InterfaceMethodref = 11;
+  private static final int CONSTANT_NameAndType = 12;
+  private static final int CONSTANT_MethodHandle = 15;
+  private static final int CONSTANT_MethodType = 16;
+  private static final int CONSTANT_Dynamic = 17;
+  private static final int CONSTANT_InvokeDynamic = 18;
+  private static final int CONSTANT_Module = 19;
+  private static final int CONSTANT_Package = 20;
+
+  /** The length of each fixed-length instruction, indexed by opcode, or {@code 0} if the opcode is variable-length or invalid. */
+  private static final byte[] instructionLengths = new byte[256];
+
+  static {
+    Arrays.fill(instructionLengths, 0x00, 0xaa, (byte)1);
+    Arrays.fill(instructionLengths, 0xac, 0xc4, (byte)1);
+    Arrays.fill(instructionLengths, 0x99, 0xa9, (byte)3); // if<cond>, if_<cmp>, goto, jsr
+    Arrays.fill(instructionLengths, 0x15, 0x1a, (byte)2); // <t>load
+    Arrays.fill(instructionLengths, 0x36, 0x3b, (byte)2); // <t>store
+    Arrays.fill(instructionLengths, 0xb2, 0xb9, (byte)3); // getstatic, putstatic, getfield, putfield, invoke<kind>
+    instructionLengths[0x10] = 2; // bipush
+    instructionLengths[0x11] = 3; // sipush
+    instructionLengths[0x12] = 2; // ldc
+    instructionLengths[0x13] = 3; // ldc_w
+    instructionLengths[0x14] = 3; // ldc2_w
+    instructionLengths[0x84] = 3; // iinc
+    instructionLengths[0xa9] = 2; // ret
+    instructionLengths[0xb9] = 5; // invokeinterface
+    instructionLengths[0xba] = 5; // invokedynamic
+    instructionLengths[0xbb] = 3; // new
+    instructionLengths[0xbc] = 2; // newarray
+    instructionLengths[0xbd] = 3; // anewarray
+    instructionLengths[0xc0] = 3; // checkcast
+    instructionLengths[0xc1] = 3; // instanceof
+    instructionLengths[0xc5] = 4; // multianewarray
+    instructionLengths[0xc6] = 3; // ifnull
+    instructionLengths[0xc7] = 3; // ifnonnull
+    instructionLengths[0xc8] = 5; // goto_w
+    instructionLengths[0xc9] = 5; // jsr_w
+  }
+
+  private static boolean isDebugAttribute(final String name) {
+    switch (name) {
+      case "SourceFile":
+      case "SourceDebugExtension":
+      case "LineNumberTable":
+      case "LocalVariableTable":
+      case "LocalVariableTypeTable":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private final boolean stripDebugAttributes;
+  private final boolean stripUnusedConstants;
+
+  /**
+   * Creates a new {@link ClassFileStripper} with the specified strip flags.
+   *
+   * @param stripDebugAttributes Whether debug attributes are to be stripped.
+   * @param stripUnusedConstants Whether unused constant pool entries are to be stripped.
+   */
+  ClassFileStripper(final boolean stripDebugAttributes, final boolean stripUnusedConstants) {
+    this.stripDebugAttributes = stripDebugAttributes;
+    this.stripUnusedConstants = stripUnusedConstants;
+  }
+
+  @Override
+  public byte[] transform(final String className, final byte[] bytecode) {
+    try {
+      return new Pass(bytecode).transform();
+    }
+    catch (final ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Truncated class file: " + className, e);
+    }
+    catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * The state of a single transformation of a class file.
+   */
+  private final class Pass {
+    private final byte[] b;
+    private final int count;
+    private final int[] offsets;
+    private final String[] utf8s;
+    private final boolean[] used;
+    private int[] remap;
+    private int pos;
+    private boolean hasUnknownAttribute;
+
+    private Pass(final byte[] b) {
+      this.b = b;
+      if (b.length < 10 || u4(0) != 0xcafebabe)
+        throw new IllegalArgumentException("Not a class file");
+
+      this.count = u2(8);
+      this.offsets = new int[count];
+      this.utf8s = new String[count];
+      this.used = new boolean[count];
+    }
+
+    private byte[] transform() throws IOException {
+      pos = 10;
+      for (int i = 1; i < count; ++i) { // [N]
+        offsets[i] = pos;
+        final int tag = b[pos] & 0xff;
+        switch (tag) {
+          case CONSTANT_Utf8:
+            pos += 3 + u2(pos + 1);
+            break;
+          case CONSTANT_Class:
+          case CONSTANT_String:
+          case CONSTANT_MethodType:
+          case CONSTANT_Module:
+          case CONSTANT_Package:
+            pos += 3;
+            break;
+          case CONSTANT_MethodHandle:
+            pos += 4;
+            break;
+          case CONSTANT_Integer:
+          case CONSTANT_Float:
+          case CONSTANT_Fieldref:
+          case CONSTANT_Methodref:
+          case CONSTANT_InterfaceMethodref:
+          case CONSTANT_NameAndType:
+          case CONSTANT_Dynamic:
+          case CONSTANT_InvokeDynamic:
+            pos += 5;
+            break;
+          case CONSTANT_Long:
+          case CONSTANT_Double:
+            pos += 9;
+            ++i;
+            break;
+          default:
+            // A constant pool tag from a future class file version cannot be safely walked
+            return b;
+        }
+      }
+
+      final int constantPoolEnd = pos;
+      final byte[] body = body();
+      if (!stripUnusedConstants || hasUnknownAttribute) {
+        if (!stripDebugAttributes)
+          return b;
+
+        final byte[] out = Arrays.copyOf(b, constantPoolEnd + body.length);
+        System.arraycopy(body, 0, out, constantPoolEnd, body.length);
+        return out;
+      }
+
+      remap = new int[count];
+      final ByteArrayOutputStream buf = new ByteArrayOutputStream(b.length);
+      final DataOutputStream out = new DataOutputStream(buf);
+      out.write(b, 0, 8);
+      out.writeShort(0);
+      int next = 1;
+      for (int i = 1; i < count; ++i) { // [N]
+        if (!used[i])
+          continue;
+
+        remap[i] = next;
+        final int tag = b[offsets[i]] & 0xff;
+        next += tag == CONSTANT_Long || tag == CONSTANT_Double ? 2 : 1;
+      }
+
+      for (int i = 1; i < count; ++i) // [N]
+        if (used[i])
+          constant(i, out);
+
+      pos = constantPoolEnd;
+      out.write(body());
+      final byte[] bytes = buf.toByteArray();
+      bytes[8] = (byte)(next >> 8);
+      bytes[9] = (byte)next;
+      return bytes;
+    }
+
+    private void constant(final int index, final DataOutputStream out) throws IOException {
+      final int off = offsets[index];
+      final int tag = b[off] & 0xff;
+      out.writeByte(tag);
+      switch (tag) {
+        case CONSTANT_Utf8:
+          out.write(b, off + 1, 2 + u2(off + 1));
+          break;
+        case CONSTANT_Integer:
+        case CONSTANT_Float:
+          out.write(b, off + 1, 4);
+          break;
+        case CONSTANT_Long:
+        case CONSTANT_Double:
+          out.write(b, off + 1, 8);
+          break;
+        case CONSTANT_Class:
+        case CONSTANT_String:
+        case CONSTANT_MethodType:
+        case CONSTANT_Module:
+        case CONSTANT_Package:
+          out.writeShort(remap[u2(off + 1)]);
+          break;
+        case CONSTANT_Fieldref:
+        case CONSTANT_Methodref:
+        case CONSTANT_InterfaceMethodref:
+        case CONSTANT_NameAndType:
+          out.writeShort(remap[u2(off + 1)]);
+          out.writeShort(remap[u2(off + 3)]);
+          break;
+        case CONSTANT_MethodHandle:
+          out.writeByte(b[off + 1]);
+          out.writeShort(remap[u2(off + 2)]);
+          break;
+        case CONSTANT_Dynamic:
+        case CONSTANT_InvokeDynamic:
+          out.write(b, off + 1, 2); // bootstrap_method_attr_index
+          out.writeShort(remap[u2(off + 3)]);
+          break;
+        default:
+          throw new IllegalStateException("Unexpected constant pool tag: " + tag);
+      }
+    }
+
+    private void mark(final int index) {
+      if (index <= 0 || index >= count)
+        throw new IllegalArgumentException("Invalid constant pool index: " + index);
+
+      if (used[index])
+        return;
+
+      used[index] = true;
+      final int off = offsets[index];
+      switch (b[off] & 0xff) {
+        case CONSTANT_Class:
+        case CONSTANT_String:
+        case CONSTANT_MethodType:
+        case CONSTANT_Module:
+        case CONSTANT_Package:
+          mark(u2(off + 1));
+          break;
+        case CONSTANT_Fieldref:
+        case CONSTANT_Methodref:
+        case CONSTANT_InterfaceMethodref:
+        case CONSTANT_NameAndType:
+          mark(u2(off + 1));
+          mark(u2(off + 3));
+          break;
+        case CONSTANT_MethodHandle:
+          mark(u2(off + 2));
+          break;
+        case CONSTANT_Dynamic:
+        case CONSTANT_InvokeDynamic:
+          mark(u2(off + 3));
+          break;
+      }
+    }
+
+    /**
+     * Returns the index to which the specified constant pool index is mapped in the pass being performed.
+     *
+     * @param index The original constant pool index.
+     * @return The index to which the specified constant pool index is mapped in the pass being performed.
+     */
+    private int cp(final int index) {
+      if (remap != null)
+        return remap[index];
+
+      mark(index);
+      return index;
+    }
+
+    /**
+     * Returns the index to which the specified constant pool index is mapped in the pass being performed, where {@code 0}
+     * signifies the absence of a constant pool entry.
+     *
+     * @param index The original constant pool index, or {@code 0}.
+     * @return The index to which the specified constant pool index is mapped in the pass being performed, or {@code 0}.
+     */
+    private int cp0(final int index) {
+      return index == 0 ? 0 : cp(index);
+    }
+
+    private String utf8(final int index) throws IOException {
+      String utf8 = utf8s[index];
+      if (utf8 == null) {
+        final int off = offsets[index];
+        if ((b[off] & 0xff) != CONSTANT_Utf8)
+          throw new IllegalArgumentException("Constant pool entry " + index + " is not CONSTANT_Utf8");
+
+        utf8s[index] = utf8 = new DataInputStream(new ByteArrayInputStream(b, off + 1, 2 + u2(off + 1))).readUTF();
+      }
+
+      return utf8;
+    }
+
+    private int u2(final int off) {
+      return (b[off] & 0xff) << 8 | b[off + 1] & 0xff;
+    }
+
+    private int u4(final int off) {
+      return (b[off] & 0xff) << 24 | (b[off + 1] & 0xff) << 16 | (b[off + 2] & 0xff) << 8 | b[off + 3] & 0xff;
+    }
+
+    private int u1() {
+      return b[pos++] & 0xff;
+    }
+
+    private int u2() {
+      final int u2 = u2(pos);
+      pos += 2;
+      return u2;
+    }
+
+    private int u4() {
+      final int u4 = u4(pos);
+      pos += 4;
+      return u4;
+    }
+
+    private void copy(final int length, final DataOutputStream out) throws IOException {
+      out.write(b, pos, length);
+      pos += length;
+    }
+
+    /**
+     * Returns the class file structures following the constant pool, starting at {@link #pos}.
+     */
+    private byte[] body() throws IOException {
+      final ByteArrayOutputStream buf = new ByteArrayOutputStream(b.length - pos);
+      final DataOutputStream out = new DataOutputStream(buf);
+      out.writeShort(u2()); // access_flags
+      out.writeShort(cp(u2())); // this_class
+      out.writeShort(cp0(u2())); // super_class
+      final int interfacesCount = u2();
+      out.writeShort(interfacesCount);
+      for (int i = 0; i < interfacesCount; ++i) // [N]
+        out.writeShort(cp(u2()));
+
+      for (int m = 0; m < 2; ++m) { // fields, then methods
+        final int membersCount = u2();
+        out.writeShort(membersCount);
+        for (int i = 0; i < membersCount; ++i) { // [N]
+          out.writeShort(u2()); // access_flags
+          out.writeShort(cp(u2())); // name_index
+          out.writeShort(cp(u2())); // descriptor_index
+          attributes(out);
+        }
+      }
+
+      attributes(out);
+      if (pos != b.length)
+        throw new IllegalArgumentException("Unexpected trailing bytes in class file");
+
+      return buf.toByteArray();
+    }
+
+    private void attributes(final DataOutputStream out) throws IOException {
+      final int attributesCount = u2();
+      final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+      final DataOutputStream attributes = new DataOutputStream(buf);
+      int retained = 0;
+      for (int i = 0; i < attributesCount; ++i) { // [N]
+        final int nameIndex = u2();
+        final int length = u4();
+        final int end = pos + length;
+        final String name = utf8(nameIndex);
+        if (stripDebugAttributes && isDebugAttribute(name)) {
+          pos = end;
+          continue;
+        }
+
+        ++retained;
+        attributes.writeShort(cp(nameIndex));
+        final ByteArrayOutputStream attribute = new ByteArrayOutputStream(length);
+        attribute(name, length, new DataOutputStream(attribute));
+        if (pos != end)
+          throw new IllegalArgumentException("Invalid length of " + name + " attribute");
+
+        attributes.writeInt(attribute.size());
+        attribute.writeTo(attributes);
+      }
+
+      out.writeShort(retained);
+      buf.writeTo(out);
+    }
+
+    private void attribute(final String name, final int length, final DataOutputStream out) throws IOException {
+      switch (name) {
+        case "ConstantValue":
+        case "Signature":
+        case "SourceFile":
+        case "NestHost":
+        case "ModuleMainClass":
+          out.writeShort(cp(u2()));
+          break;
+        case "Synthetic":
+        case "Deprecated":
+        case "SourceDebugExtension":
+        case "LineNumberTable":
+          copy(length, out);
+          break;
+        case "Exceptions":
+        case "NestMembers":
+        case "PermittedSubclasses":
+        case "ModulePackages": {
+          final int n = u2();
+          out.writeShort(n);
+          for (int i = 0; i < n; ++i) // [N]
+            out.writeShort(cp(u2()));
+
+          break;
+        }
+        case "EnclosingMethod":
+          out.writeShort(cp(u2())); // class_index
+          out.writeShort(cp0(u2())); // method_index
+          break;
+        case "InnerClasses": {
+          final int n = u2();
+          out.writeShort(n);
+          for (int i = 0; i < n; ++i) { // [N]
+            out.writeShort(cp(u2())); // inner_class_info_index
+            out.writeShort(cp0(u2())); // outer_class_info_index
+            out.writeShort(cp0(u2())); // inner_name_index
+            out.writeShort(u2()); // inner_class_access_flags
+          }
+
+          break;
+        }
+        case "LocalVariableTable":
+        case "LocalVariableTypeTable": {
+          final int n = u2();
+          out.writeShort(n);
+          for (int i = 0; i < n; ++i) { // [N]
+            copy(4, out); // start_pc, length
+            out.writeShort(cp(u2())); // name_index
+            out.writeShort(cp(u2())); // descriptor_index or signature_index
+            copy(2, out); // index
+          }
+
+          break;
+        }
+        case "MethodParameters": {
+          final int n = u1();
+          out.writeByte(n);
+          for (int i = 0; i < n; ++i) { // [N]
+            out.writeShort(cp0(u2())); // name_index
+            out.writeShort(u2()); // access_flags
+          }
+
+          break;
+        }
+        case "BootstrapMethods": {
+          final int n = u2();
+          out.writeShort(n);
+          for (int i = 0; i < n; ++i) { // [N]
+            out.writeShort(cp(u2())); // bootstrap_method_ref
+            final int arguments = u2();
+            out.writeShort(arguments);
+            for (int j = 0; j < arguments; ++j) // [N]
+              out.writeShort(cp(u2()));
+          }
+
+          break;
+        }
+        case "Record": {
+          final int n = u2();
+          out.writeShort(n);
+          for (int i = 0; i < n; ++i) { // [N]
+            out.writeShort(cp(u2())); // name_index
+            out.writeShort(cp(u2())); // descriptor_index
+            attributes(out);
+          }
+
+          break;
+        }
+        case "RuntimeVisibleAnnotations":
+        case "RuntimeInvisibleAnnotations":
+          annotations(out);
+          break;
+        case "RuntimeVisibleParameterAnnotations":
+        case "RuntimeInvisibleParameterAnnotations": {
+          final int n = u1();
+          out.writeByte(n);
+          for (int i = 0; i < n; ++i) // [N]
+            annotations(out);
+
+          break;
+        }
+        case "RuntimeVisibleTypeAnnotations":
+        case "RuntimeInvisibleTypeAnnotations": {
+          final int n = u2();
+          out.writeShort(n);
+          for (int i = 0; i < n; ++i) // [N]
+            typeAnnotation(out);
+
+          break;
+        }
+        case "AnnotationDefault":
+          elementValue(out);
+          break;
+        case "StackMapTable":
+          stackMapTable(out);
+          break;
+        case "Code":
+          code(out);
+          break;
+        default:
+          // The constant pool references of an unknown attribute cannot be remapped, so the constant pool must be retained as is
+          hasUnknownAttribute = true;
+          copy(length, out);
+      }
+    }
+
+    private void code(final DataOutputStream out) throws IOException {
+      out.writeShort(u2()); // max_stack
+      out.writeShort(u2()); // max_locals
+      final int codeLength = u4();
+      out.writeInt(codeLength);
+      final byte[] code = Arrays.copyOfRange(b, pos, pos + codeLength);
+      pos += codeLength;
+      for (int pc = 0; pc < codeLength;) { // [N]
+        final int opcode = code[pc] & 0xff;
+        switch (opcode) {
+          case 0x12: // ldc
+            code[pc + 1] = (byte)cp(code[pc + 1] & 0xff);
+            break;
+          case 0x13: // ldc_w
+          case 0x14: // ldc2_w
+          case 0xb2: // getstatic
+          case 0xb3: // putstatic
+          case 0xb4: // getfield
+          case 0xb5: // putfield
+          case 0xb6: // invokevirtual
+          case 0xb7: // invokespecial
+          case 0xb8: // invokestatic
+          case 0xb9: // invokeinterface
+          case 0xba: // invokedynamic
+          case 0xbb: // new
+          case 0xbd: // anewarray
+          case 0xc0: // checkcast
+          case 0xc1: // instanceof
+          case 0xc5: { // multianewarray
+            final int index = cp((code[pc + 1] & 0xff) << 8 | code[pc + 2] & 0xff);
+            code[pc + 1] = (byte)(index >> 8);
+            code[pc + 2] = (byte)index;
+            break;
+          }
+        }
+
+        final int instructionLength = instructionLengths[opcode];
+        if (instructionLength > 0) {
+          pc += instructionLength;
+        }
+        else if (opcode == 0xaa) { // tableswitch
+          final int p = (pc + 4) & ~3;
+          pc = p + 12 + 4 * (u4(code, p + 8) - u4(code, p + 4) + 1);
+        }
+        else if (opcode == 0xab) { // lookupswitch
+          final int p = (pc + 4) & ~3;
+          pc = p + 8 + 8 * u4(code, p + 4);
+        }
+        else if (opcode == 0xc4) { // wide
+          pc += (code[pc + 1] & 0xff) == 0x84 ? 6 : 4;
+        }
+        else {
+          throw new IllegalArgumentException("Invalid opcode: " + opcode);
+        }
+      }
+
+      out.write(code);
+      final int exceptionTableLength = u2();
+      out.writeShort(exceptionTableLength);
+      for (int i = 0; i < exceptionTableLength; ++i) { // [N]
+        copy(6, out); // start_pc, end_pc, handler_pc
+        out.writeShort(cp0(u2())); // catch_type
+      }
+
+      attributes(out);
+    }
+
+    private int u4(final byte[] code, final int off) {
+      return (code[off] & 0xff) << 24 | (code[off + 1] & 0xff) << 16 | (code[off + 2] & 0xff) << 8 | code[off + 3] & 0xff;
+    }
+
+    private void stackMapTable(final DataOutputStream out) throws IOException {
+      final int n = u2();
+      out.writeShort(n);
+      for (int i = 0; i < n; ++i) { // [N]
+        final int frameType = u1();
+        out.writeByte(frameType);
+        if (frameType < 64) { // same_frame
+        }
+        else if (frameType < 128) { // same_locals_1_stack_item_frame
+          verificationTypeInfo(out);
+        }
+        else if (frameType < 247) {
+          throw new IllegalArgumentException("Invalid stack map frame type: " + frameType);
+        }
+        else if (frameType == 247) { // same_locals_1_stack_item_frame_extended
+          copy(2, out);
+          verificationTypeInfo(out);
+        }
+        else if (frameType < 252) { // chop_frame, same_frame_extended
+          copy(2, out);
+        }
+        else if (frameType < 255) { // append_frame
+          copy(2, out);
+          for (int j = 251; j < frameType; ++j) // [N]
+            verificationTypeInfo(out);
+        }
+        else { // full_frame
+          copy(2, out);
+          for (int k = 0; k < 2; ++k) { // locals, then stack
+            final int items = u2();
+            out.writeShort(items);
+            for (int j = 0; j < items; ++j) // [N]
+              verificationTypeInfo(out);
+          }
+        }
+      }
+    }
+
+    private void verificationTypeInfo(final DataOutputStream out) throws IOException {
+      final int tag = u1();
+      out.writeByte(tag);
+      if (tag == 7) // Object_variable_info
+        out.writeShort(cp(u2()));
+      else if (tag == 8) // Uninitialized_variable_info
+        copy(2, out);
+    }
+
+    private void annotations(final DataOutputStream out) throws IOException {
+      final int n = u2();
+      out.writeShort(n);
+      for (int i = 0; i < n; ++i) // [N]
+        annotation(out);
+    }
+
+    private void annotation(final DataOutputStream out) throws IOException {
+      out.writeShort(cp(u2())); // type_index
+      final int pairs = u2();
+      out.writeShort(pairs);
+      for (int i = 0; i < pairs; ++i) { // [N]
+        out.writeShort(cp(u2())); // element_name_index
+        elementValue(out);
+      }
+    }
+
+    private void elementValue(final DataOutputStream out) throws IOException {
+      final int tag = u1();
+      out.writeByte(tag);
+      switch (tag) {
+        case 'B':
+        case 'C':
+        case 'D':
+        case 'F':
+        case 'I':
+        case 'J':
+        case 'S':
+        case 'Z':
+        case 's':
+        case 'c':
+          out.writeShort(cp(u2()));
+          break;
+        case 'e':
+          out.writeShort(cp(u2())); // type_name_index
+          out.writeShort(cp(u2())); // const_name_index
+          break;
+        case '@':
+          annotation(out);
+          break;
+        case '[': {
+          final int n = u2();
+          out.writeShort(n);
+          for (int i = 0; i < n; ++i) // [N]
+            elementValue(out);
+
+          break;
+        }
+        default:
+          throw new IllegalArgumentException("Invalid element_value tag: " + (char)tag);
+      }
+    }
+
+    private void typeAnnotation(final DataOutputStream out) throws IOException {
+      final int targetType = u1();
+      out.writeByte(targetType);
+      switch (targetType) {
+        case 0x00: // type_parameter_target
+        case 0x01:
+        case 0x16: // formal_parameter_target
+          copy(1, out);
+          break;
+        case 0x10: // supertype_target
+        case 0x11: // type_parameter_bound_target
+        case 0x12:
+        case 0x17: // throws_target
+        case 0x42: // catch_target
+        case 0x43: // offset_target
+        case 0x44:
+        case 0x45:
+        case 0x46:
+          copy(2, out);
+          break;
+        case 0x13: // empty_target
+        case 0x14:
+        case 0x15:
+          break;
+        case 0x40: // localvar_target
+        case 0x41: {
+          final int n = u2();
+          out.writeShort(n);
+          copy(6 * n, out);
+          break;
+        }
+        case 0x47: // type_argument_target
+        case 0x48:
+        case 0x49:
+        case 0x4a:
+        case 0x4b:
+          copy(3, out);
+          break;
+        default:
+          throw new IllegalArgumentException("Invalid type annotation target type: " + targetType);
+      }
+
+      final int pathLength = u1();
+      out.writeByte(pathLength);
+      copy(2 * pathLength, out);
+      annotation(out);
+    }
+  }
+}
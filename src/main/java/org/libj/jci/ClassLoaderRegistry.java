@@ -0,0 +1,362 @@
+/* Copyright (c) 2026 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.jci;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A registry of the {@link ClassLoader}s returned by {@link InMemoryCompiler}, which tracks the lifecycle of each loader with a
+ * {@link WeakReference}, so as not to prevent the loader from being garbage collected. Since the loader has no finalizer, a weak
+ * reference detects unreachability as precisely as a phantom reference would, but is cleared by the GC itself, whereby an
+ * unreachable loader is not retained by the registry until it is expunged.
+ * <p>
+ * A loader is reported to the {@link Listener} if it becomes unreachable without having been closed, or if it remains reachable
+ * past the {@linkplain #setMaxAge(long,TimeUnit) maximum age}. Loaders that have become unreachable are expunged whenever the
+ * registry is accessed, whereas the maximum age is checked only by {@link #poll()}, which is intended to be called periodically by
+ * the application.
+ */
+public final class ClassLoaderRegistry {
+  /**
+   * Listener for the lifecycle events of the loaders in the {@link ClassLoaderRegistry}. Listener methods are called on the
+   * thread that accesses the registry, and must therefore not block. An exception thrown by a listener method is passed to the
+   * {@link Thread.UncaughtExceptionHandler} of the thread, and does not propagate to the caller of the registry.
+   */
+  public interface Listener {
+    /**
+     * Called when the loader of the specified {@link Entry} has become unreachable without having been closed.
+     *
+     * @param entry The {@link Entry}.
+     */
+    default void onUnclosedUnreachable(final Entry entry) {
+    }
+
+    /**
+     * Called once when the loader of the specified {@link Entry} has remained reachable past the maximum age.
+     *
+     * @param entry The {@link Entry}.
+     */
+    default void onMaxAgeExceeded(final Entry entry) {
+    }
+  }
+
+  /**
+   * The lifecycle accounting of a single loader in the {@link ClassLoaderRegistry}.
+   */
+  public static final class Entry {
+    private final long id;
+    private final long createdNanos = System.nanoTime();
+    private final long createdMillis = System.currentTimeMillis();
+    private final int definedClasses;
+    private final long jarBytes;
+    private volatile long retainedBytecodeBytes;
+    private volatile long offHeapBytes;
+    private volatile boolean closed;
+    private volatile boolean reachable = true;
+    private volatile boolean maxAgeExceeded;
+
+    private Entry(final long id, final int definedClasses, final long retainedBytecodeBytes, final long jarBytes, final long offHeapBytes) {
+      this.id = id;
+      this.definedClasses = definedClasses;
+      this.retainedBytecodeBytes = retainedBytecodeBytes;
+      this.jarBytes = jarBytes;
+      this.offHeapBytes = offHeapBytes;
+    }
+
+    /**
+     * Marks the loader of this {@link Entry} as closed, whereby it no longer retains its bytecode.
+     */
+    void close() {
+      closed = true;
+      retainedBytecodeBytes = 0;
+      offHeapBytes = 0;
+    }
+
+    /**
+     * Returns the sequential id of the loader, unique for the lifetime of the JVM.
+     *
+     * @return The sequential id of the loader, unique for the lifetime of the JVM.
+     */
+    public long getId() {
+      return id;
+    }
+
+    /**
+     * Returns the time at which the loader was created, in milliseconds since the epoch.
+     *
+     * @return The time at which the loader was created, in milliseconds since the epoch.
+     */
+    public long getCreationTime() {
+      return createdMillis;
+    }
+
+    /**
+     * Returns the age of the loader in the specified {@link TimeUnit}.
+     *
+     * @param unit The {@link TimeUnit}.
+     * @return The age of the loader in the specified {@link TimeUnit}.
+     * @throws NullPointerException If {@code unit} is null.
+     */
+    public long getAge(final TimeUnit unit) {
+      return unit.convert(System.nanoTime() - createdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of classes defined by the loader.
+     *
+     * @return The number of classes defined by the loader.
+     */
+    public int getDefinedClasses() {
+      return definedClasses;
+    }
+
+    /**
+     * Returns the number of bytes of bytecode retained by the loader, which is {@code 0} once the loader is closed.
+     *
+     * @return The number of bytes of bytecode retained by the loader, which is {@code 0} once the loader is closed.
+     */
+    public long getRetainedBytecodeBytes() {
+      return retainedBytecodeBytes;
+    }
+
+    /**
+     * Returns the number of bytes of off-heap memory that holds the bytecode of the loader, which is {@code 0} once the loader is
+     * closed.
+     *
+     * @return The number of bytes of off-heap memory that holds the bytecode of the loader, which is {@code 0} once the loader is
+     *         closed.
+     */
+    public long getOffHeapBytes() {
+      return offHeapBytes;
+    }
+
+    /**
+     * Returns the number of bytes of the in-memory JAR that backs the resources of the loader.
+     *
+     * @return The number of bytes of the in-memory JAR that backs the resources of the loader.
+     */
+    public long getJarBytes() {
+      return jarBytes;
+    }
+
+    /**
+     * Returns whether the loader has been closed.
+     *
+     * @return Whether the loader has been closed.
+     */
+    public boolean isClosed() {
+      return closed;
+    }
+
+    /**
+     * Returns whether the loader is reachable, to the extent of the last time the registry was accessed.
+     *
+     * @return Whether the loader is reachable, to the extent of the last time the registry was accessed.
+     */
+    public boolean isReachable() {
+      return reachable;
+    }
+
+    @Override
+    public String toString() {
+      return "InMemoryClassLoader#" + id + " {age: " + getAge(TimeUnit.MILLISECONDS) + "ms, classes: " + definedClasses + ", bytecode: " + retainedBytecodeBytes + "B, jar: " + jarBytes + "B, off-heap: " + offHeapBytes + "B, closed: " + closed + ", reachable: " + reachable + "}";
+    }
+  }
+
+  private static final class Tracker extends WeakReference<ClassLoader> {
+    private final Entry entry;
+
+    private Tracker(final ClassLoader referent, final Entry entry) {
+      super(referent, queue);
+      this.entry = entry;
+    }
+  }
+
+  private static final ReferenceQueue<ClassLoader> queue = new ReferenceQueue<>();
+  private static final Set<Tracker> trackers = ConcurrentHashMap.newKeySet();
+  private static final AtomicLong created = new AtomicLong();
+  private static final AtomicLong unclosedUnreachable = new AtomicLong();
+  private static volatile long maxAgeNanos;
+  private static volatile Listener listener;
+
+  /**
+   * Registers the specified loader, and returns its {@link Entry}.
+   *
+   * @param classLoader The loader.
+   * @param definedClasses The number of classes defined by the loader.
+   * @param retainedBytecodeBytes The number of bytes of bytecode retained by the loader.
+   * @param jarBytes The number of bytes of the in-memory JAR of the loader.
+   * @param offHeapBytes The number of bytes of off-heap memory that holds the bytecode of the loader.
+   * @return The {@link Entry} of the loader.
+   */
+  static Entry register(final ClassLoader classLoader, final int definedClasses, final long retainedBytecodeBytes, final long jarBytes, final long offHeapBytes) {
+    expunge();
+    final Entry entry = new Entry(created.incrementAndGet(), definedClasses, retainedBytecodeBytes, jarBytes, offHeapBytes);
+    trackers.add(new Tracker(classLoader, entry));
+    return entry;
+  }
+
+  private static void uncaughtException(final RuntimeException e) {
+    final Thread thread = Thread.currentThread();
+    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+  }
+
+  private static void expunge() {
+    for (Reference<? extends ClassLoader> reference; (reference = queue.poll()) != null;) {
+      final Tracker tracker = (Tracker)reference;
+      trackers.remove(tracker);
+      final Entry entry = tracker.entry;
+      entry.reachable = false;
+      if (!entry.closed) {
+        unclosedUnreachable.incrementAndGet();
+        final Listener listener = ClassLoaderRegistry.listener;
+        if (listener != null) {
+          try {
+            listener.onUnclosedUnreachable(entry);
+          }
+          catch (final RuntimeException e) {
+            uncaughtException(e);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Expunges the loaders that have become unreachable, and checks the remaining loaders against the maximum age, reporting each to
+   * the {@link Listener}.
+   *
+   * @return The number of reachable loaders that have exceeded the maximum age.
+   */
+  public static int poll() {
+    expunge();
+    final long maxAgeNanos = ClassLoaderRegistry.maxAgeNanos;
+    if (maxAgeNanos <= 0)
+      return 0;
+
+    int exceeded = 0;
+    for (final Tracker tracker : trackers) { // [S]
+      final Entry entry = tracker.entry;
+      if (entry.getAge(TimeUnit.NANOSECONDS) > maxAgeNanos) {
+        ++exceeded;
+        if (!entry.maxAgeExceeded) {
+          entry.maxAgeExceeded = true;
+          final Listener listener = ClassLoaderRegistry.listener;
+          if (listener != null) {
+            try {
+              listener.onMaxAgeExceeded(entry);
+            }
+            catch (final RuntimeException e) {
+              uncaughtException(e);
+            }
+          }
+        }
+      }
+    }
+
+    return exceeded;
+  }
+
+  /**
+   * Returns the {@link Entry} of the specified loader.
+   *
+   * @param classLoader The loader.
+   * @return The {@link Entry} of the specified loader, or {@code null} if the loader was not returned by {@link InMemoryCompiler}.
+   */
+  public static Entry getEntry(final ClassLoader classLoader) {
+    return classLoader instanceof InMemoryClassLoader ? ((InMemoryClassLoader)classLoader).getEntry() : null;
+  }
+
+  /**
+   * Returns the number of loaders that are reachable.
+   *
+   * @return The number of loaders that are reachable.
+   */
+  public static int getLiveCount() {
+    expunge();
+    return trackers.size();
+  }
+
+  /**
+   * Returns the number of loaders that have been created.
+   *
+   * @return The number of loaders that have been created.
+   */
+  public static long getCreatedCount() {
+    return created.get();
+  }
+
+  /**
+   * Returns the number of loaders that have become unreachable without having been closed.
+   *
+   * @return The number of loaders that have become unreachable without having been closed.
+   */
+  public static long getUnclosedUnreachableCount() {
+    expunge();
+    return unclosedUnreachable.get();
+  }
+
+  /**
+   * Returns a snapshot of the {@link Entry}s of the loaders that are reachable, ordered by id.
+   *
+   * @return A snapshot of the {@link Entry}s of the loaders that are reachable, ordered by id.
+   */
+  public static List<Entry> getLiveEntries() {
+    expunge();
+    final ArrayList<Entry> entries = new ArrayList<>(trackers.size());
+    for (final Tracker tracker : trackers) // [S]
+      entries.add(tracker.entry);
+
+    entries.sort((final Entry o1, final Entry o2) -> Long.compare(o1.id, o2.id));
+    return Collections.unmodifiableList(entries);
+  }
+
+  /**
+   * Sets the maximum age past which a reachable loader is reported to the {@link Listener} by {@link #poll()}.
+   *
+   * @param maxAge The maximum age, or {@code 0} to disable the check.
+   * @param unit The {@link TimeUnit} of {@code maxAge}.
+   * @throws IllegalArgumentException If {@code maxAge} is negative.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public static void setMaxAge(final long maxAge, final TimeUnit unit) {
+    if (maxAge < 0)
+      throw new IllegalArgumentException("maxAge (" + maxAge + ") < 0");
+
+    maxAgeNanos = unit.toNanos(maxAge);
+  }
+
+  /**
+   * Sets the {@link Listener} to which lifecycle events are reported.
+   *
+   * @param listener The {@link Listener}, or {@code null} for no listener.
+   */
+  public static void setListener(final Listener listener) {
+    ClassLoaderRegistry.listener = listener;
+  }
+
+  private ClassLoaderRegistry() {
+  }
+}
@@ -81,7 +81,7 @@ public class CompilationException extends Exception {
    * @param diagnostics The list of {@link Diagnostic} objects.
    */
   public CompilationException(final List<Diagnostic<? extends JavaFileObject>> diagnostics) {
-    this(buildMessage(diagnostics), null);
+    this(diagnostics, null);
   }
 
   /**
@@ -0,0 +1,489 @@
+/* Copyright (c) 2026 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.jci;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+/**
+ * A javac worker in a forked JVM, which compiles the sources of each request received on a loopback socket, and writes the
+ * bytecode or diagnostics of the compilation to the socket. An instance of this class is the handle of the parent JVM to the worker
+ * process.
+ * <p>
+ * The protocol does not use the standard streams of the worker, since the JVM writes its own logging (such as {@code -Xlog:gc}) to
+ * standard output. The worker connects to the port given by the parent, and identifies itself with a magic number and the token
+ * given by the parent. A request consists of the compiler options, followed by the class names and sources to be compiled. A
+ * response consists of the heap usage of the worker after its last GC, followed by either the class names and bytecode of the
+ * compiled classes, or the diagnostics of a failed compilation. Every length in the protocol is checked against a maximum before
+ * it is allocated. The worker exits when the socket is closed.
+ *
+ * @see CompilerWorkerPool
+ */
+final class CompilerWorker {
+  /**
+   * A {@link Diagnostic} that has been read from the response of a {@link CompilerWorker}.
+   */
+  private static final class RemoteDiagnostic implements Diagnostic<JavaFileObject> {
+    private final Kind kind;
+    private final JavaFileObject source;
+    private final long position;
+    private final long startPosition;
+    private final long endPosition;
+    private final long lineNumber;
+    private final long columnNumber;
+    private final String code;
+    private final String message;
+
+    private RemoteDiagnostic(final DataInputStream in, final Map<String,JavaFileObject> classNameToSource) throws IOException {
+      this.kind = Kind.valueOf(readString(in));
+      this.source = in.readBoolean() ? classNameToSource.get(readString(in)) : null;
+      this.position = in.readLong();
+      this.startPosition = in.readLong();
+      this.endPosition = in.readLong();
+      this.lineNumber = in.readLong();
+      this.columnNumber = in.readLong();
+      this.code = in.readBoolean() ? readString(in) : null;
+      this.message = readString(in);
+    }
+
+    @Override
+    public Kind getKind() {
+      return kind;
+    }
+
+    @Override
+    public JavaFileObject getSource() {
+      return source;
+    }
+
+    @Override
+    public long getPosition() {
+      return position;
+    }
+
+    @Override
+    public long getStartPosition() {
+      return startPosition;
+    }
+
+    @Override
+    public long getEndPosition() {
+      return endPosition;
+    }
+
+    @Override
+    public long getLineNumber() {
+      return lineNumber;
+    }
+
+    @Override
+    public long getColumnNumber() {
+      return columnNumber;
+    }
+
+    @Override
+    public String getCode() {
+      return code;
+    }
+
+    @Override
+    public String getMessage(final Locale locale) {
+      return message;
+    }
+
+    @Override
+    public String toString() {
+      return (source != null ? source.getName() + ":" + lineNumber + ": " : "") + kind.toString().toLowerCase(Locale.ROOT) + ": " + message;
+    }
+  }
+
+  private static final int magic = 0x4A434957;
+  private static final int maxLength = 64 * 1024 * 1024;
+  private static final SecureRandom random = new SecureRandom();
+
+  /**
+   * Reads a length or count from the specified {@link DataInputStream}, and checks that it is in the range {@code [0, maxLength]}.
+   *
+   * @param in The {@link DataInputStream}.
+   * @return The length or count.
+   * @throws IOException If an I/O error has occurred, or if the length is out of range.
+   */
+  private static int readLength(final DataInputStream in) throws IOException {
+    final int length = in.readInt();
+    if (length < 0 || length > maxLength)
+      throw new IOException("Invalid length: " + length);
+
+    return length;
+  }
+
+  private static void writeString(final DataOutputStream out, final String string) throws IOException {
+    final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(final DataInputStream in) throws IOException {
+    final byte[] bytes = new byte[readLength(in)];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeDiagnostic(final DataOutputStream out, final Diagnostic<? extends JavaFileObject> diagnostic, final Map<JavaFileObject,String> sourceToClassName) throws IOException {
+    writeString(out, diagnostic.getKind().name());
+    final String className = diagnostic.getSource() == null ? null : sourceToClassName.get(diagnostic.getSource());
+    out.writeBoolean(className != null);
+    if (className != null)
+      writeString(out, className);
+
+    out.writeLong(diagnostic.getPosition());
+    out.writeLong(diagnostic.getStartPosition());
+    out.writeLong(diagnostic.getEndPosition());
+    out.writeLong(diagnostic.getLineNumber());
+    out.writeLong(diagnostic.getColumnNumber());
+    out.writeBoolean(diagnostic.getCode() != null);
+    if (diagnostic.getCode() != null)
+      writeString(out, diagnostic.getCode());
+
+    writeString(out, diagnostic.getMessage(null));
+  }
+
+  /**
+   * Returns the tenured heap pool of this JVM, which is the heap pool that supports a usage threshold, or {@code null} if there is
+   * none.
+   *
+   * @return The tenured heap pool of this JVM, or {@code null} if there is none.
+   */
+  private static MemoryPoolMXBean getTenuredPool() {
+    for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) // [L]
+      if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported() && pool.isCollectionUsageThresholdSupported())
+        return pool;
+
+    return null;
+  }
+
+  /**
+   * Connects to the parent JVM on the loopback port specified in the first argument, identifies itself with the token specified in
+   * the second argument, and compiles the sources of each request received on the socket, until the socket is closed.
+   *
+   * @param args The port and token given by the parent JVM.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public static void main(final String[] args) throws IOException {
+    try (final Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]))) {
+      final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      out.writeInt(magic);
+      out.writeLong(Long.parseLong(args[1]));
+      out.flush();
+      serve(in, out);
+    }
+    catch (final SocketException e) {
+      // The parent has closed the socket
+    }
+  }
+
+  private static void serve(final DataInputStream in, final DataOutputStream out) throws IOException {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final Runtime runtime = Runtime.getRuntime();
+    final MemoryPoolMXBean tenuredPool = getTenuredPool();
+    while (true) {
+      final int optionsCount;
+      try {
+        optionsCount = readLength(in);
+      }
+      catch (final EOFException e) {
+        return;
+      }
+
+      final List<String> options = new ArrayList<>(optionsCount);
+      for (int i = 0; i < optionsCount; ++i) // [N]
+        options.add(readString(in));
+
+      final int sourcesCount = readLength(in);
+      final List<JavaFileObject> sources = new ArrayList<>(sourcesCount);
+      final Map<JavaFileObject,String> sourceToClassName = new IdentityHashMap<>(sourcesCount);
+      for (int i = 0; i < sourcesCount; ++i) { // [N]
+        final String className = readString(in);
+        final JavaSourceObject source = new JavaSourceObject(className, readString(in));
+        sources.add(source);
+        sourceToClassName.put(source, className);
+      }
+
+      final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+      final Map<String,JavaByteCodeObject> classNameToByteCode = new LinkedHashMap<>();
+      final boolean success;
+      try (final JavaFileManager fileManager = new ForwardingJavaFileManager<JavaFileManager>(compiler.getStandardFileManager(diagnostics, null, null)) {
+        @Override
+        public JavaFileObject getJavaFileForOutput(final Location location, final String className, final JavaFileObject.Kind kind, final FileObject sibling) {
+          JavaByteCodeObject javaByteCodeObject = classNameToByteCode.get(className);
+          if (javaByteCodeObject == null)
+            classNameToByteCode.put(className, javaByteCodeObject = new JavaByteCodeObject(className));
+
+          return javaByteCodeObject;
+        }
+      }) {
+        success = compiler.getTask(null, fileManager, diagnostics, options, null, sources).call();
+      }
+
+      // The usage of the tenured pool after the last GC is the heap that the worker retains, excluding garbage not yet collected
+      final MemoryUsage usage = tenuredPool == null ? null : tenuredPool.getCollectionUsage();
+      if (usage != null) {
+        out.writeLong(usage.getUsed());
+        out.writeLong(usage.getMax() > 0 ? usage.getMax() : runtime.maxMemory());
+      }
+      else {
+        out.writeLong(runtime.totalMemory() - runtime.freeMemory());
+        out.writeLong(runtime.maxMemory());
+      }
+      out.writeBoolean(success);
+      if (success) {
+        out.writeInt(classNameToByteCode.size());
+        for (final Map.Entry<String,JavaByteCodeObject> entry : classNameToByteCode.entrySet()) { // [S]
+          writeString(out, entry.getKey());
+          final byte[] bytes = entry.getValue().getBytes();
+          out.writeInt(bytes.length);
+          out.write(bytes);
+        }
+      }
+      else {
+        final List<Diagnostic<? extends JavaFileObject>> list = diagnostics.getDiagnostics();
+        out.writeInt(list.size());
+        for (int i = 0, i$ = list.size(); i < i$; ++i) // [RA]
+          writeDiagnostic(out, list.get(i), sourceToClassName);
+      }
+
+      out.flush();
+    }
+  }
+
+  private final ServerSocket serverSocket;
+  private final long token = random.nextLong();
+  private final Process process;
+  private Socket socket;
+  private DataOutputStream in;
+  private DataInputStream out;
+  private int timeout;
+  private int jobs;
+  private double heapRatio;
+
+  /**
+   * Starts a new {@link CompilerWorker} process, which connects to this handle on the first job.
+   *
+   * @param classpath The classpath of the worker JVM, which must include this class.
+   * @param jvmOptions The options of the worker JVM.
+   * @throws IOException If an I/O error has occurred.
+   */
+  CompilerWorker(final String classpath, final List<String> jvmOptions) throws IOException {
+    this.serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    final List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.addAll(jvmOptions);
+    command.add("-cp");
+    command.add(classpath);
+    command.add(CompilerWorker.class.getName());
+    command.add(String.valueOf(serverSocket.getLocalPort()));
+    command.add(String.valueOf(token));
+    try {
+      this.process = new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.INHERIT).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+    }
+    catch (final IOException e) {
+      serverSocket.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Sets the maximum time to wait for the worker process to connect, and for each read of a response.
+   *
+   * @param timeout The timeout in milliseconds, or {@code 0} for no timeout.
+   */
+  void setTimeout(final long timeout) {
+    this.timeout = (int)Math.min(timeout, Integer.MAX_VALUE);
+  }
+
+  private void connect() throws IOException {
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+    // The accept is retried in short intervals, so that a worker that has exited before connecting is detected promptly
+    serverSocket.setSoTimeout(100);
+    try {
+      while (true) {
+        try {
+          socket = serverSocket.accept();
+          break;
+        }
+        catch (final SocketTimeoutException e) {
+          if (!process.isAlive())
+            throw new IOException("Worker exited with " + process.exitValue() + " before connecting");
+
+          if (timeout > 0 && System.nanoTime() - deadline > 0)
+            throw new IOException("Worker did not connect within " + timeout + "ms");
+        }
+      }
+    }
+    finally {
+      serverSocket.close();
+    }
+
+    socket.setSoTimeout(timeout);
+    in = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    out = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    if (out.readInt() != magic || out.readLong() != token)
+      throw new IOException("Invalid handshake from worker");
+  }
+
+  /**
+   * Compiles the specified sources in the worker process, and puts the resulting bytecode into the specified map.
+   *
+   * @param classNameToSource The map of class name {@link String} to source {@link JavaFileObject} object.
+   * @param options Compiler options, or {@code null} for no options.
+   * @param classNameToByteCode The map into which the compiled {@link JavaByteCodeObject}s are to be put.
+   * @param transformers The {@link BytecodeTransformer}s to apply to each compiled class as it is received.
+   * @param arena The {@link BytecodeArena} into which the bytecode of each compiled class is to be received, or {@code null} to
+   *          hold the bytecode on the heap.
+   * @throws CompilationException If an error has occurred while compiling the specified sources.
+   * @throws IOException If an I/O error has occurred while communicating with the worker process.
+   */
+  void compile(final Map<String,JavaFileObject> classNameToSource, final Iterable<String> options, final Map<String,JavaByteCodeObject> classNameToByteCode, final List<BytecodeTransformer> transformers, final BytecodeArena arena) throws CompilationException, IOException {
+    if (socket == null)
+      connect();
+    else
+      socket.setSoTimeout(timeout);
+
+    ++jobs;
+    final List<String> optionsList = new ArrayList<>();
+    if (options != null)
+      for (final String option : options) // [I]
+        optionsList.add(option);
+
+    in.writeInt(optionsList.size());
+    for (int i = 0, i$ = optionsList.size(); i < i$; ++i) // [RA]
+      writeString(in, optionsList.get(i));
+
+    in.writeInt(classNameToSource.size());
+    for (final Map.Entry<String,JavaFileObject> entry : classNameToSource.entrySet()) { // [S]
+      writeString(in, entry.getKey());
+      writeString(in, entry.getValue().getCharContent(true).toString());
+    }
+
+    in.flush();
+
+    final long heapUsed = out.readLong();
+    final long heapMax = out.readLong();
+    heapRatio = (double)heapUsed / heapMax;
+    if (out.readBoolean()) {
+      for (int i = 0, i$ = readLength(out); i < i$; ++i) { // [N]
+        final String className = readString(out);
+        final JavaByteCodeObject javaByteCodeObject = new JavaByteCodeObject(className, transformers, arena);
+        javaByteCodeObject.readFrom(out, readLength(out));
+        classNameToByteCode.put(className, javaByteCodeObject);
+      }
+    }
+    else {
+      final int size = readLength(out);
+      final List<Diagnostic<? extends JavaFileObject>> diagnostics = new ArrayList<>();
+      for (int i = 0; i < size; ++i) // [N]
+        diagnostics.add(new RemoteDiagnostic(out, classNameToSource));
+
+      throw new CompilationException(diagnostics);
+    }
+  }
+
+  /**
+   * Warms this worker by compiling a trivial source, whereby the classes of javac are loaded before the first job. The warmup does
+   * not count as a job.
+   *
+   * @throws IOException If an I/O error has occurred while communicating with the worker process, or if the warmup has failed.
+   */
+  void warm() throws IOException {
+    try {
+      compile(Collections.singletonMap("Warmup", new JavaSourceObject("Warmup", "class Warmup { }")), null, new HashMap<>(), Collections.emptyList(), null);
+    }
+    catch (final CompilationException e) {
+      throw new IOException("Warmup failed", e);
+    }
+
+    jobs = 0;
+  }
+
+  /**
+   * Returns whether this worker is to be retired, because it has performed the specified maximum number of jobs, or its heap usage
+   * after its last GC exceeds the specified ratio of its maximum heap size.
+   *
+   * @param maxJobs The maximum number of jobs, or {@code 0} for no maximum.
+   * @param maxHeapRatio The maximum ratio of used heap to maximum heap.
+   * @return Whether this worker is to be retired.
+   */
+  boolean isExhausted(final int maxJobs, final double maxHeapRatio) {
+    return maxJobs > 0 && jobs >= maxJobs || heapRatio > maxHeapRatio || !process.isAlive();
+  }
+
+  /**
+   * Terminates the worker process by closing its socket, or forcibly if it has not exited within 1 second.
+   */
+  void destroy() {
+    try {
+      serverSocket.close();
+      process.getOutputStream().close();
+      if (socket != null)
+        socket.close();
+
+      if (!process.waitFor(1, TimeUnit.SECONDS))
+        process.destroyForcibly();
+    }
+    catch (final IOException e) {
+      process.destroyForcibly();
+    }
+    catch (final InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,305 @@
+/* Copyright (c) 2026 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.jci;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.tools.JavaFileObject;
+
+/**
+ * A pool of javac workers in forked JVMs, to which an {@link InMemoryCompiler} delegates compilation, so as to keep the heap usage
+ * and garbage collection of the compiler out of the current JVM. The compiled bytecode is returned to the current JVM, where it is
+ * defined as usual.
+ * <p>
+ * Workers are started eagerly, and are warmed with a trivial compilation before they are first used. A worker is restarted after it
+ * has performed the maximum number of jobs, if its heap usage after GC exceeds the maximum ratio of its maximum heap size, or if
+ * it has failed or timed out. Workers are retired and replaced on a background thread, so as not to delay the thread that
+ * compiled. Since the worker JVM resolves classes for compilation from its own classpath, the classpath of the worker JVM is that
+ * of the current JVM by default.
+ *
+ * @see InMemoryCompiler#InMemoryCompiler(CompilerWorkerPool)
+ */
+public class CompilerWorkerPool implements AutoCloseable {
+  private final LinkedBlockingQueue<CompilerWorker> idle = new LinkedBlockingQueue<>();
+  private final int size;
+  private final int maxJobs;
+  private final double maxHeapRatio;
+  private final String classpath;
+  private final List<String> jvmOptions;
+  private final AtomicInteger workers = new AtomicInteger();
+  private final ExecutorService executor = Executors.newCachedThreadPool((final Runnable r) -> {
+    final Thread thread = new Thread(r, "CompilerWorkerPool");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private volatile long timeout = TimeUnit.MINUTES.toMillis(5);
+  private volatile boolean closed;
+
+  /**
+   * Creates a new {@link CompilerWorkerPool} with the specified parameters, and starts its workers.
+   *
+   * @param size The number of workers.
+   * @param maxJobs The number of jobs after which a worker is restarted, or {@code 0} for no maximum.
+   * @param maxHeapRatio The ratio of used heap to maximum heap of a worker after its last GC, above which the worker is restarted.
+   * @param classpath The classpath of the worker JVMs, which must include this library.
+   * @param jvmOptions The options of the worker JVMs, such as {@code -Xmx256m}, or {@code null} for no options.
+   * @throws IllegalArgumentException If {@code size} is not positive, {@code maxJobs} is negative, or {@code maxHeapRatio} is not
+   *           in the range {@code (0, 1]}.
+   * @throws IOException If an I/O error has occurred while starting a worker.
+   * @throws NullPointerException If {@code classpath} is null.
+   */
+  public CompilerWorkerPool(final int size, final int maxJobs, final double maxHeapRatio, final String classpath, final List<String> jvmOptions) throws IOException {
+    if (size <= 0)
+      throw new IllegalArgumentException("size (" + size + ") <= 0");
+
+    if (maxJobs < 0)
+      throw new IllegalArgumentException("maxJobs (" + maxJobs + ") < 0");
+
+    if (!(maxHeapRatio > 0 && maxHeapRatio <= 1))
+      throw new IllegalArgumentException("maxHeapRatio (" + maxHeapRatio + ") is not in (0, 1]");
+
+    this.size = size;
+    this.maxJobs = maxJobs;
+    this.maxHeapRatio = maxHeapRatio;
+    this.classpath = Objects.requireNonNull(classpath);
+    this.jvmOptions = jvmOptions == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(jvmOptions));
+    try {
+      for (int i = 0; i < size; ++i) { // [N]
+        workers.incrementAndGet();
+        final CompilerWorker worker = start();
+        execute(() -> warm(worker));
+      }
+    }
+    catch (final IOException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Creates a new {@link CompilerWorkerPool} with the specified parameters and the classpath of the current JVM, and starts its
+   * workers.
+   *
+   * @param size The number of workers.
+   * @param maxJobs The number of jobs after which a worker is restarted, or {@code 0} for no maximum.
+   * @param maxHeapRatio The ratio of used heap to maximum heap of a worker after its last GC, above which the worker is restarted.
+   * @param jvmOptions The options of the worker JVMs, such as {@code -Xmx256m}.
+   * @throws IllegalArgumentException If {@code size} is not positive, {@code maxJobs} is negative, or {@code maxHeapRatio} is not
+   *           in the range {@code (0, 1]}.
+   * @throws IOException If an I/O error has occurred while starting a worker.
+   */
+  public CompilerWorkerPool(final int size, final int maxJobs, final double maxHeapRatio, final String ... jvmOptions) throws IOException {
+    this(size, maxJobs, maxHeapRatio, System.getProperty("java.class.path"), jvmOptions == null ? null : Arrays.asList(jvmOptions));
+  }
+
+  /**
+   * Creates a new {@link CompilerWorkerPool} with the specified number of workers, which are restarted after 1000 jobs, or if their
+   * heap usage after GC exceeds 75% of their maximum heap size, and starts its workers.
+   *
+   * @param size The number of workers.
+   * @throws IllegalArgumentException If {@code size} is not positive.
+   * @throws IOException If an I/O error has occurred while starting a worker.
+   */
+  public CompilerWorkerPool(final int size) throws IOException {
+    this(size, 1000, 0.75);
+  }
+
+  /**
+   * Sets the maximum time to wait for an idle worker, for a worker to start, and for a worker to respond to a job, after which an
+   * {@link IOException} is thrown, and the worker is replaced. The default is 5 minutes.
+   *
+   * @param timeout The timeout, or {@code 0} for no timeout.
+   * @param unit The {@link TimeUnit} of {@code timeout}.
+   * @throws IllegalArgumentException If {@code timeout} is negative.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public void setTimeout(final long timeout, final TimeUnit unit) {
+    if (timeout < 0)
+      throw new IllegalArgumentException("timeout (" + timeout + ") < 0");
+
+    this.timeout = unit.toMillis(timeout);
+  }
+
+  /**
+   * Returns the number of workers in this {@link CompilerWorkerPool}.
+   *
+   * @return The number of workers in this {@link CompilerWorkerPool}.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Compiles the specified sources with a worker of this pool, waiting for a worker to become available if necessary.
+   *
+   * @param classNameToSource The map of class name {@link String} to source {@link JavaFileObject} object.
+   * @param options Compiler options, or {@code null} for no options.
+   * @param classNameToByteCode The map into which the compiled {@link JavaByteCodeObject}s are to be put.
+   * @param transformers The {@link BytecodeTransformer}s to apply to each compiled class as it is received.
+   * @param arena The {@link BytecodeArena} into which the bytecode of each compiled class is to be received, or {@code null} to
+   *          hold the bytecode on the heap.
+   * @throws CompilationException If an error has occurred while compiling the specified sources.
+   * @throws IOException If an I/O error has occurred while communicating with the worker, or if this pool is closed.
+   */
+  void compile(final Map<String,JavaFileObject> classNameToSource, final Iterable<String> options, final Map<String,JavaByteCodeObject> classNameToByteCode, final List<BytecodeTransformer> transformers, final BytecodeArena arena) throws CompilationException, IOException {
+    final CompilerWorker worker = acquire();
+    boolean failed = true;
+    try {
+      worker.setTimeout(timeout);
+      worker.compile(classNameToSource, options, classNameToByteCode, transformers, arena);
+      failed = false;
+    }
+    catch (final CompilationException e) {
+      failed = false;
+      throw e;
+    }
+    finally {
+      release(worker, failed);
+    }
+  }
+
+  private CompilerWorker start() throws IOException {
+    try {
+      return new CompilerWorker(classpath, jvmOptions);
+    }
+    catch (final IOException e) {
+      workers.decrementAndGet();
+      throw e;
+    }
+  }
+
+  private CompilerWorker acquire() throws IOException {
+    final long timeout = this.timeout;
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+    try {
+      while (true) {
+        if (closed)
+          throw new IOException("CompilerWorkerPool is closed");
+
+        if (timeout > 0 && System.nanoTime() - deadline > 0)
+          throw new IOException("No worker became available within " + timeout + "ms");
+
+        final CompilerWorker worker = idle.poll(100, TimeUnit.MILLISECONDS);
+        if (worker != null)
+          return worker;
+
+        // Replace a worker that could not be started or warmed
+        if (workers.incrementAndGet() <= size)
+          return start();
+
+        workers.decrementAndGet();
+      }
+    }
+    catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
+  private void execute(final Runnable task) {
+    try {
+      executor.execute(task);
+    }
+    catch (final RejectedExecutionException e) {
+      // This pool is closed
+      task.run();
+    }
+  }
+
+  private void warm(final CompilerWorker worker) {
+    try {
+      worker.setTimeout(timeout);
+      worker.warm();
+    }
+    catch (final IOException | RuntimeException e) {
+      // The worker will be started on demand in acquire()
+      retire(worker);
+      return;
+    }
+    catch (final Error e) {
+      retire(worker);
+      throw e;
+    }
+
+    idle.add(worker);
+    if (closed)
+      close();
+  }
+
+  private void retire(final CompilerWorker worker) {
+    worker.destroy();
+    workers.decrementAndGet();
+  }
+
+  private void replace(final CompilerWorker worker) {
+    retire(worker);
+    if (closed)
+      return;
+
+    if (workers.incrementAndGet() > size) {
+      workers.decrementAndGet();
+      return;
+    }
+
+    final CompilerWorker replacement;
+    try {
+      replacement = start();
+    }
+    catch (final IOException e) {
+      // The worker will be started on demand in acquire()
+      return;
+    }
+
+    warm(replacement);
+  }
+
+  private void release(final CompilerWorker worker, final boolean failed) {
+    // A worker that has failed may be out of sync with its protocol, so it is replaced as well
+    if (failed || worker.isExhausted(maxJobs, maxHeapRatio)) {
+      execute(() -> replace(worker));
+      return;
+    }
+
+    idle.add(worker);
+    if (closed)
+      close();
+  }
+
+  /**
+   * Closes this {@link CompilerWorkerPool}, terminating its idle workers. Workers that are performing a job or are being warmed are
+   * terminated when the job or warmup completes.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    executor.shutdown();
+    for (CompilerWorker worker; (worker = idle.poll()) != null;)
+      retire(worker);
+  }
+}
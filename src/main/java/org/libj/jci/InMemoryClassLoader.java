@@ -16,17 +16,25 @@
 
 package org.libj.jci;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
+import java.security.ProtectionDomain;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarEntry;
@@ -52,12 +60,50 @@ import org.libj.net.URLs;
  * @see InMemoryCompiler
  */
 class InMemoryClassLoader extends ClassLoader implements AutoCloseable {
-  private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-  private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+  /**
+   * A {@link URLStreamHandler} that serves the resources of an off-heap {@link InMemoryClassLoader} from its {@link BytecodeArena}.
+   */
+  private final class ArenaURLStreamHandler extends URLStreamHandler {
+    @Override
+    protected URLConnection openConnection(final URL u) {
+      return new URLConnection(u) {
+        @Override
+        public void connect() {
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+          final String name = u.getPath().substring(1);
+          if (!resources.contains(name))
+            throw new FileNotFoundException(u.toString());
+
+          if (!name.endsWith(".class"))
+            return new ByteArrayInputStream(new byte[0]);
+
+          // The map is cleared by close(), which does so while synchronized on the arena
+          final JavaByteCodeObject javaByteCodeObject;
+          synchronized (arena) {
+            if (arena.isClosed())
+              throw new FileNotFoundException(u + " (closed)");
+
+            javaByteCodeObject = classNameToByteCode.get(name.substring(0, name.length() - 6).replace('/', '.'));
+          }
+
+          if (javaByteCodeObject == null)
+            throw new FileNotFoundException(u.toString());
+
+          return javaByteCodeObject.openInputStream();
+        }
+      };
+    }
+  }
+
   private final Map<String,JavaByteCodeObject> classNameToByteCode = new HashMap<>();
   private final Map<String,Class<?>> classNameToClass = new HashMap<>();
   private final Set<String> resources = new HashSet<>();
   private final URL url;
+  private final BytecodeArena arena;
+  private final ClassLoaderRegistry.Entry entry;
 
   /**
    * Creates a new {@link InMemoryClassLoader} with the specified sources and destination directory.
@@ -66,11 +112,16 @@ class InMemoryClassLoader extends ClassLoader implements AutoCloseable {
    * @param classNameToSource The map of class name {@link String} to source {@link JavaFileObject} object.
    * @param options Compiler options, or {@code null} for no options.
    * @param destDir The destination directory of the compiled classes, or {@code null} if the classes should not be written.
+   * @param transformers The {@link BytecodeTransformer}s to apply to the compiled classes before they are defined.
+   * @param workerPool The {@link CompilerWorkerPool} with which to compile the sources, or {@code null} to compile the sources in
+   *          this JVM.
+   * @param offHeap Whether the compiled bytecode is to be held in off-heap memory that is freed on {@link #close()}, rather than on
+   *          the heap.
    * @throws CompilationException If an error has occurred while compiling the specified sources.
    * @throws IOException If an I/O error has occurred.
-   * @throws NullPointerException If {@code classNameToSource} is null.
+   * @throws NullPointerException If {@code classNameToSource} or {@code transformers} is null.
    */
-  InMemoryClassLoader(final ClassLoader parent, final Map<String,JavaFileObject> classNameToSource, final Iterable<String> options, final File destDir) throws CompilationException, IOException {
+  InMemoryClassLoader(final ClassLoader parent, final Map<String,JavaFileObject> classNameToSource, final Iterable<String> options, final File destDir, final List<BytecodeTransformer> transformers, final CompilerWorkerPool workerPool, final boolean offHeap) throws CompilationException, IOException {
     super(new ClassLoader(parent) {
       /**
        * Overloaded to force resource resolution to this InMemoryClassLoader.
@@ -97,64 +148,123 @@ class InMemoryClassLoader extends ClassLoader implements AutoCloseable {
       }
     });
 
-    try (final JavaFileManager fileManager = new ForwardingJavaFileManager<JavaFileManager>(compiler.getStandardFileManager(diagnostics, null, null)) {
-      @Override
-      public JavaFileObject getJavaFileForOutput(final Location location, final String className, final JavaFileObject.Kind kind, final FileObject sibling) {
-        JavaByteCodeObject javaByteCodeObject = classNameToByteCode.get(className);
-        if (javaByteCodeObject == null)
-          classNameToByteCode.put(className, javaByteCodeObject = new JavaByteCodeObject(className));
-
-        return javaByteCodeObject;
+    arena = offHeap ? new BytecodeArena() : null;
+    try {
+      if (classNameToSource.size() > 0) {
+        if (workerPool != null)
+          workerPool.compile(classNameToSource, options, classNameToByteCode, transformers, arena);
+        else
+          compile(classNameToSource, options, transformers);
       }
-    }) {
-      if (classNameToSource.size() > 0 && !compiler.getTask(null, fileManager, diagnostics, options, null, classNameToSource.values()).call())
-        throw new CompilationException(diagnostics.getDiagnostics());
-    }
 
-    try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-      try (final JarOutputStream jos = new JarOutputStream(baos)) {
-        if (classNameToByteCode.size() > 0) {
-          for (final Map.Entry<String,JavaByteCodeObject> entry : classNameToByteCode.entrySet()) { // [S]
-            if (!entry.getKey().endsWith("package-info"))
-              loadClass(entry.getKey());
-
-            final String name = entry.getKey().replace('.', '/').concat(".class");
-            if (destDir != null) {
-              final File file = new File(destDir, name);
-              file.getParentFile().mkdirs();
-              Files.write(file.toPath(), entry.getValue().getBytes(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-            }
+      // Each class is transformed and moved to the arena as soon as it is compiled, in parallel with the compilation of others
+      for (final JavaByteCodeObject javaByteCodeObject : classNameToByteCode.values()) // [C]
+        javaByteCodeObject.await();
+
+      // The resources of an off-heap loader are served from its arena, rather than from an on-heap JAR
+      final ByteArrayOutputStream baos = arena == null ? new ByteArrayOutputStream() : null;
+      try (final JarOutputStream jos = baos == null ? null : new JarOutputStream(baos)) {
+        for (final Map.Entry<String,JavaByteCodeObject> entry : classNameToByteCode.entrySet()) { // [S]
+          if (!entry.getKey().endsWith("package-info"))
+            loadClass(entry.getKey());
+
+          final String name = entry.getKey().replace('.', '/').concat(".class");
+          if (destDir != null) {
+            final File file = new File(destDir, name);
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), entry.getValue().getBytes(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+          }
 
+          if (jos != null) {
             jos.putNextEntry(new JarEntry(name));
             jos.write(entry.getValue().getBytes());
             jos.closeEntry();
-            resources.add(name);
-
-            String pkg = entry.getKey();
-            int dot;
-            while ((dot = pkg.lastIndexOf('.')) != -1) {
-              pkg = pkg.substring(0, dot);
-              final String dir = pkg.replace('.', '/');
-              if (!resources.contains(dir)) {
+          }
+
+          resources.add(name);
+
+          String pkg = entry.getKey();
+          int dot;
+          while ((dot = pkg.lastIndexOf('.')) != -1) {
+            pkg = pkg.substring(0, dot);
+            final String dir = pkg.replace('.', '/');
+            if (!resources.contains(dir)) {
+              if (jos != null)
                 jos.putNextEntry(new JarEntry(dir));
-                resources.add(dir);
 
-                if (getPackage(pkg) == null)
-                  definePackage(pkg, null, null, null, null, null, null, null);
-              }
+              resources.add(dir);
+
+              if (getPackage(pkg) == null)
+                definePackage(pkg, null, null, null, null, null, null, null);
             }
           }
         }
       }
+      catch (final ClassNotFoundException e) {
+        throw new IllegalStateException(e);
+      }
+
+      if (baos != null) {
+        final URL memUrl = MemoryURLStreamHandler.createURL(baos.toByteArray());
+        url = new URL("jar:" + memUrl + "!/");
 
-      final URL memUrl = MemoryURLStreamHandler.createURL(baos.toByteArray());
-      url = new URL("jar:" + memUrl + "!/");
+        long bytecodeBytes = 0;
+        for (final JavaByteCodeObject javaByteCodeObject : classNameToByteCode.values()) // [C]
+          bytecodeBytes += javaByteCodeObject.size();
+
+        entry = ClassLoaderRegistry.register(this, classNameToClass.size(), bytecodeBytes, baos.size(), 0);
+      }
+      else {
+        url = new URL("bytecode", null, -1, "/", new ArenaURLStreamHandler());
+        entry = ClassLoaderRegistry.register(this, classNameToClass.size(), 0, 0, arena.getAllocated());
+      }
     }
-    catch (final ClassNotFoundException e) {
-      throw new IllegalStateException(e);
+    catch (final Throwable t) {
+      // The loader is not registered, so the arena must be freed here for it to be freed deterministically
+      if (arena != null) {
+        // The arena must not be freed while a transformed class is still being moved to it
+        for (final JavaByteCodeObject javaByteCodeObject : classNameToByteCode.values()) { // [C]
+          try {
+            javaByteCodeObject.await();
+          }
+          catch (final RuntimeException e) {
+          }
+        }
+
+        arena.close();
+      }
+
+      throw t;
     }
   }
 
+  private void compile(final Map<String,JavaFileObject> classNameToSource, final Iterable<String> options, final List<BytecodeTransformer> transformers) throws CompilationException, IOException {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (final JavaFileManager fileManager = new ForwardingJavaFileManager<JavaFileManager>(compiler.getStandardFileManager(diagnostics, null, null)) {
+      @Override
+      public JavaFileObject getJavaFileForOutput(final Location location, final String className, final JavaFileObject.Kind kind, final FileObject sibling) {
+        JavaByteCodeObject javaByteCodeObject = classNameToByteCode.get(className);
+        if (javaByteCodeObject == null)
+          classNameToByteCode.put(className, javaByteCodeObject = new JavaByteCodeObject(className, transformers, arena));
+
+        return javaByteCodeObject;
+      }
+    }) {
+      if (!compiler.getTask(null, fileManager, diagnostics, options, null, classNameToSource.values()).call())
+        throw new CompilationException(diagnostics.getDiagnostics());
+    }
+  }
+
+  /**
+   * Returns the {@link ClassLoaderRegistry.Entry} of this {@link InMemoryClassLoader}.
+   *
+   * @return The {@link ClassLoaderRegistry.Entry} of this {@link InMemoryClassLoader}.
+   */
+  ClassLoaderRegistry.Entry getEntry() {
+    return entry;
+  }
+
   @Override
   protected Class<?> findClass(final String name) throws ClassNotFoundException {
     Class<?> cls = classNameToClass.get(name);
@@ -163,8 +273,21 @@ class InMemoryClassLoader extends ClassLoader implements AutoCloseable {
       if (javaByteCodeObject == null)
         throw new ClassNotFoundException(name);
 
-      final byte[] b = javaByteCodeObject.getBytes();
-      classNameToClass.put(name, cls = defineClass(name, b, 0, b.length));
+      final ByteBuffer buffer = javaByteCodeObject.getByteBuffer();
+      if (buffer != null) {
+        synchronized (arena) {
+          if (arena.isClosed())
+            throw new ClassNotFoundException(name);
+
+          cls = defineClass(name, buffer, (ProtectionDomain)null);
+        }
+      }
+      else {
+        final byte[] b = javaByteCodeObject.getBytes();
+        cls = defineClass(name, b, 0, b.length);
+      }
+
+      classNameToClass.put(name, cls);
     }
 
     return cls;
@@ -182,6 +305,19 @@ class InMemoryClassLoader extends ClassLoader implements AutoCloseable {
 
   @Override
   public void close() {
+    entry.close();
+    if (arena == null) {
+      release();
+    }
+    else {
+      synchronized (arena) {
+        arena.close();
+        release();
+      }
+    }
+  }
+
+  private void release() {
     if (classNameToByteCode.size() == 0)
       return;
 
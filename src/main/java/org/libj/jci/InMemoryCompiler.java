@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.tools.JavaFileObject;
 
@@ -51,6 +52,26 @@ public class InMemoryCompiler {
   }
 
   private final Map<String,JavaFileObject> classNameToSource = new HashMap<>();
+  private final List<BytecodeTransformer> transformers = new ArrayList<>();
+  private final CompilerWorkerPool workerPool;
+  private boolean offHeap;
+
+  /**
+   * Creates a new {@link InMemoryCompiler} that compiles sources in this JVM.
+   */
+  public InMemoryCompiler() {
+    this(null);
+  }
+
+  /**
+   * Creates a new {@link InMemoryCompiler} that compiles sources with the specified {@link CompilerWorkerPool}, whereby the compiled
+   * classes are defined in this JVM.
+   *
+   * @param workerPool The {@link CompilerWorkerPool}, or {@code null} to compile sources in this JVM.
+   */
+  public InMemoryCompiler(final CompilerWorkerPool workerPool) {
+    this.workerPool = workerPool;
+  }
 
   /**
    * Compile the sources that have been added to this {@link InMemoryCompiler}, and, if compilation is successful, write compiled
@@ -66,7 +87,7 @@ public class InMemoryCompiler {
    */
   public ClassLoader compile(final ClassLoader classLoader, final List<? extends File> classpath, final File destDir, final String ... options) throws CompilationException, IOException {
     final List<String> optionsList = options != null && options.length > 0 ? CollectionUtil.asCollection(new ArrayList<>(), options) : new ArrayList<>();
-    return new InMemoryClassLoader(digestOptions(classLoader, optionsList, classpath), classNameToSource, optionsList, destDir);
+    return new InMemoryClassLoader(digestOptions(classLoader, optionsList, classpath), classNameToSource, optionsList, destDir, transformers, workerPool, offHeap);
   }
 
   /**
@@ -201,6 +222,34 @@ public class InMemoryCompiler {
     return compile(ClassLoader.getSystemClassLoader(), null, null, options);
   }
 
+  /**
+   * Adds a {@link BytecodeTransformer} to be applied to the bytecode of each compiled class before the class is defined, and
+   * before it is written to the destination directory. Transformers are applied in the order they are added, and the classes of a
+   * compilation are transformed in parallel.
+   *
+   * @param transformer The {@link BytecodeTransformer} to be added.
+   * @throws NullPointerException If {@code transformer} is null.
+   * @see BytecodeTransformer#STRIP_DEBUG_ATTRIBUTES
+   * @see BytecodeTransformer#STRIP_UNUSED_CONSTANTS
+   * @see BytecodeTransformer#STRIP_ALL
+   */
+  public void addTransformer(final BytecodeTransformer transformer) {
+    transformers.add(Objects.requireNonNull(transformer));
+  }
+
+  /**
+   * Sets whether the bytecode of the classes compiled by subsequent calls to {@code compile(...)} is to be held in off-heap memory,
+   * rather than on the heap. The bytecode of each class is moved to off-heap memory as soon as the class is compiled and
+   * transformed, so that the bytecode of a compilation is not held on the heap in its entirety. The classes are defined, and their
+   * ".class" resources are served, from the off-heap memory, which is freed when the returned {@link ClassLoader} is closed via
+   * {@link AutoCloseable#close()}. Thereafter, the ".class" resources of the {@link ClassLoader} are no longer available.
+   *
+   * @param offHeap Whether the bytecode of compiled classes is to be held in off-heap memory.
+   */
+  public void setOffHeap(final boolean offHeap) {
+    this.offHeap = offHeap;
+  }
+
   /**
    * Adds Java source for compilation.
    *
@@ -16,9 +16,18 @@
 
 package org.libj.jci;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.tools.SimpleJavaFileObject;
 
@@ -26,25 +35,71 @@ import javax.tools.SimpleJavaFileObject;
  * A {@link SimpleJavaFileObject} representing Java Bytecode (i.e. a ".class" file).
  */
 class JavaByteCodeObject extends SimpleJavaFileObject implements AutoCloseable {
-  private static class ReleasableByteArrayOutputStream extends ByteArrayOutputStream {
+  private final class ReleasableByteArrayOutputStream extends ByteArrayOutputStream {
+    private boolean closed;
+
+    private ReleasableByteArrayOutputStream() {
+      super();
+    }
+
+    private ReleasableByteArrayOutputStream(final byte[] bytes) {
+      super(0);
+      this.buf = bytes;
+      this.count = bytes.length;
+    }
+
     private void release() {
       this.buf = null;
     }
+
+    private void writeTo(final ByteBuffer buffer) {
+      buffer.put(buf, 0, count);
+    }
+
+    @Override
+    public void close() {
+      if (closed)
+        return;
+
+      closed = true;
+      complete();
+    }
   }
 
-  private final ReleasableByteArrayOutputStream baos = new ReleasableByteArrayOutputStream();
+  private final String className;
+  private final List<BytecodeTransformer> transformers;
+  private final BytecodeArena arena;
+  private ReleasableByteArrayOutputStream baos = new ReleasableByteArrayOutputStream();
+  private ByteBuffer buffer;
+  private CompletableFuture<Void> completion;
 
   /**
-   * Creates a new {@link JavaByteCodeObject} with the specified name.
+   * Creates a new {@link JavaByteCodeObject} with the specified name, whose bytecode is held on the heap as written.
    *
    * @param name The name.
    */
   JavaByteCodeObject(final String name) {
+    this(name, Collections.emptyList(), null);
+  }
+
+  /**
+   * Creates a new {@link JavaByteCodeObject} with the specified name, whose bytecode is transformed with the specified
+   * {@link BytecodeTransformer}s, and moved to the specified {@link BytecodeArena}, as soon as it has been written.
+   *
+   * @param name The binary name of the class.
+   * @param transformers The {@link BytecodeTransformer}s to apply.
+   * @param arena The {@link BytecodeArena} to which the bytecode is to be moved, or {@code null} to hold the bytecode on the heap.
+   */
+  JavaByteCodeObject(final String name, final List<BytecodeTransformer> transformers, final BytecodeArena arena) {
     super(URI.create("bytecode:///" + name.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+    this.className = name;
+    this.transformers = transformers;
+    this.arena = arena;
   }
 
   /**
-   * Returns the bytecode as an {@link OutputStream}.
+   * Returns the bytecode as an {@link OutputStream}. The bytecode is transformed and moved to off-heap memory when the stream is
+   * closed.
    *
    * @return The bytecode as an {@link OutputStream}.
    */
@@ -53,17 +108,134 @@ class JavaByteCodeObject extends SimpleJavaFileObject implements AutoCloseable {
     return baos;
   }
 
+  /**
+   * Reads the bytecode of the specified length from the specified {@link DataInputStream}, and transforms and moves it to off-heap
+   * memory. If there are no {@link BytecodeTransformer}s to apply, off-heap bytecode is read directly into off-heap memory.
+   *
+   * @param in The {@link DataInputStream}.
+   * @param length The number of bytes of the bytecode.
+   * @throws IOException If an I/O error has occurred.
+   */
+  void readFrom(final DataInputStream in, final int length) throws IOException {
+    if (arena != null && transformers.size() == 0) {
+      final ByteBuffer buffer = arena.allocate(length);
+      final byte[] bytes = new byte[Math.min(length, 8192)];
+      for (int n; buffer.hasRemaining(); buffer.put(bytes, 0, n)) // [N]
+        in.readFully(bytes, 0, n = Math.min(bytes.length, buffer.remaining()));
+
+      buffer.flip();
+      this.buffer = buffer;
+      baos.release();
+    }
+    else {
+      final byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      baos = new ReleasableByteArrayOutputStream(bytes);
+      complete();
+    }
+  }
+
+  /**
+   * Transforms the written bytecode, and moves it to off-heap memory. Since transformation is expensive, it is performed
+   * asynchronously, whereby the classes of a compilation are transformed in parallel.
+   */
+  private void complete() {
+    if (transformers.size() > 0)
+      completion = CompletableFuture.runAsync(() -> {
+        transform();
+        if (arena != null)
+          moveTo();
+      });
+    else if (arena != null)
+      moveTo();
+  }
+
+  /**
+   * Waits for the transformation of the bytecode to complete.
+   *
+   * @throws RuntimeException If a {@link BytecodeTransformer} has thrown an exception.
+   */
+  void await() {
+    if (completion == null)
+      return;
+
+    try {
+      completion.join();
+    }
+    catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException)e.getCause();
+
+      if (e.getCause() instanceof Error)
+        throw (Error)e.getCause();
+
+      throw e;
+    }
+  }
+
   /**
    * Returns the bytecode as a byte array.
    *
    * @return The bytecode as a byte array.
    */
   public byte[] getBytes() {
-    return baos.toByteArray();
+    return buffer != null ? arena.getBytes(buffer) : baos.toByteArray();
+  }
+
+  /**
+   * Returns the bytecode as an {@link InputStream}.
+   *
+   * @return The bytecode as an {@link InputStream}.
+   */
+  @Override
+  public InputStream openInputStream() {
+    return buffer != null ? arena.newInputStream(buffer) : new ByteArrayInputStream(getBytes());
+  }
+
+  /**
+   * Returns the off-heap bytecode as a {@link ByteBuffer}, or {@code null} if the bytecode is on-heap. The buffer must only be read
+   * while synchronized on its {@link BytecodeArena}.
+   *
+   * @return The off-heap bytecode as a {@link ByteBuffer}, or {@code null} if the bytecode is on-heap.
+   */
+  ByteBuffer getByteBuffer() {
+    return buffer != null ? buffer.duplicate() : null;
+  }
+
+  /**
+   * Returns the number of bytes of the bytecode.
+   *
+   * @return The number of bytes of the bytecode.
+   */
+  int size() {
+    return buffer != null ? buffer.remaining() : baos.size();
+  }
+
+  /**
+   * Moves the bytecode to off-heap memory allocated from the {@link BytecodeArena}, and releases the on-heap bytecode.
+   */
+  private void moveTo() {
+    final ByteBuffer buffer = arena.allocate(baos.size());
+    baos.writeTo(buffer);
+    buffer.flip();
+    baos.release();
+    this.buffer = buffer;
+  }
+
+  /**
+   * Applies the {@link BytecodeTransformer}s in order to the bytecode, and replaces the bytecode with the result.
+   */
+  private void transform() {
+    byte[] bytes = baos.toByteArray();
+    for (int i = 0, i$ = transformers.size(); i < i$; ++i) // [RA]
+      bytes = transformers.get(i).transform(className, bytes);
+
+    // Replace the stream, so as not to retain the larger backing array of the original bytecode
+    baos = new ReleasableByteArrayOutputStream(bytes);
   }
 
   @Override
   public void close() {
     baos.release();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+/* Copyright (c) 2026 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.jci;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+public class BytecodeTransformerTest {
+  private static final String source =
+    "package org.libj.jci.test.transform;\n" +
+    "import java.util.*;\n" +
+    "import java.util.function.*;\n" +
+    "@Deprecated\n" +
+    "public class Transformed implements java.util.concurrent.Callable<String> {\n" +
+    "  @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface Tag { String value() default \"x\"; int[] ints() default {1, 2}; java.lang.annotation.ElementType type() default java.lang.annotation.ElementType.TYPE; }\n" +
+    "  private static final long BIG = 0x123456789L;\n" +
+    "  private final List<String> list = new ArrayList<>();\n" +
+    "  class Inner { int x = 3; }\n" +
+    "  @Tag(value = \"y\", ints = {3})\n" +
+    "  private static String sw(final int i) {\n" +
+    "    switch (i) { case 0: return \"a\"; case 1: return \"b\"; case 2: return \"c\"; default: return \"d\"; }\n" +
+    "  }\n" +
+    "  private static String lk(final int i) {\n" +
+    "    switch (i) { case 10: return \"x\"; case 1000: return \"y\"; default: return \"z\"; }\n" +
+    "  }\n" +
+    "  public String call() throws Exception {\n" +
+    "    final Function<String,String> f = s -> s + BIG;\n" +
+    "    final StringBuilder b = new StringBuilder();\n" +
+    "    for (int i = 0; i < 4; ++i) b.append(sw(i));\n" +
+    "    b.append(lk(1000)).append(new Inner().x).append(f.apply(\"-\"));\n" +
+    "    try { Object o = list; ((List<?>)o).get(5); } catch (final IndexOutOfBoundsException e) { b.append('!'); }\n" +
+    "    final int[][] m = new int[2][3]; m[1][2] = 7; b.append(m[1][2]);\n" +
+    "    b.append(Transformed.class.getDeclaredMethod(\"sw\", int.class).getAnnotation(Tag.class).value());\n" +
+    "    return b.toString();\n" +
+    "  }\n" +
+    "}\n";
+
+  private static final String expected = "abcdy3-4886718345!7y";
+
+  private static byte[] getBytes(final ClassLoader classLoader, final String className) throws IOException {
+    try (final InputStream in = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final byte[] buf = new byte[1024];
+      for (int len; (len = in.read(buf)) != -1;)
+        out.write(buf, 0, len);
+
+      return out.toByteArray();
+    }
+  }
+
+  private static ClassLoader compile(final BytecodeTransformer ... transformers) throws CompilationException, IOException {
+    final InMemoryCompiler compiler = new InMemoryCompiler();
+    compiler.addSource(source);
+    for (final BytecodeTransformer transformer : transformers) // [A]
+      compiler.addTransformer(transformer);
+
+    return compiler.compile("-g", "-parameters");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static byte[] assertTransformed(final BytecodeTransformer transformer) throws Exception {
+    final String className = "org.libj.jci.test.transform.Transformed";
+    final byte[] original = getBytes(compile(), className);
+    final ClassLoader classLoader = compile(transformer);
+    final byte[] transformed = getBytes(classLoader, className);
+    assertTrue(transformed.length <= original.length);
+
+    final Class<Callable<String>> cls = (Class<Callable<String>>)classLoader.loadClass(className);
+    assertEquals(expected, cls.getConstructor().newInstance().call());
+    assertNotNull(cls.getAnnotation(Deprecated.class));
+    return transformed;
+  }
+
+  private static boolean contains(final byte[] bytecode, final String string) {
+    return new String(bytecode, StandardCharsets.ISO_8859_1).contains(string);
+  }
+
+  @Test
+  public void testUntransformed() throws Exception {
+    assertEquals(expected, ((Callable<?>)compile().loadClass("org.libj.jci.test.transform.Transformed").getConstructor().newInstance()).call());
+  }
+
+  @Test
+  public void testStripDebugAttributes() throws Exception {
+    final byte[] transformed = assertTransformed(BytecodeTransformer.STRIP_DEBUG_ATTRIBUTES);
+    // The names of the stripped attributes remain in the constant pool
+    assertTrue(contains(transformed, "LineNumberTable"));
+    assertTrue(transformed.length < getBytes(compile(), "org.libj.jci.test.transform.Transformed").length);
+  }
+
+  @Test
+  public void testStripUnusedConstants() throws Exception {
+    final String className = "org.libj.jci.test.transform.Transformed";
+    final byte[] stripped = getBytes(compile(BytecodeTransformer.STRIP_DEBUG_ATTRIBUTES), className);
+    assertTrue(BytecodeTransformer.STRIP_UNUSED_CONSTANTS.transform(className, stripped).length < stripped.length);
+    assertTrue(contains(assertTransformed(BytecodeTransformer.STRIP_UNUSED_CONSTANTS), "LineNumberTable"));
+  }
+
+  @Test
+  public void testStripAll() throws Exception {
+    final byte[] transformed = assertTransformed(BytecodeTransformer.STRIP_ALL);
+    assertFalse(contains(transformed, "LineNumberTable"));
+    assertFalse(contains(transformed, "LocalVariableTable"));
+    assertArrayEquals(transformed, assertTransformed((n, b) -> BytecodeTransformer.STRIP_UNUSED_CONSTANTS.transform(n, BytecodeTransformer.STRIP_DEBUG_ATTRIBUTES.transform(n, b))));
+  }
+
+  @Test
+  public void testInvalid() {
+    try {
+      BytecodeTransformer.STRIP_ALL.transform("Invalid", new byte[] {1, 2, 3});
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+}
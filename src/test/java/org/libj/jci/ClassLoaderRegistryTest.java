@@ -0,0 +1,156 @@
+/* Copyright (c) 2026 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.jci;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ClassLoaderRegistryTest {
+  private static ClassLoader compile(final String pkg) throws CompilationException, IOException {
+    final InMemoryCompiler compiler = new InMemoryCompiler();
+    compiler.addSource("package " + pkg + "; public class A {}");
+    compiler.addSource("package " + pkg + "; public class B { class C {} }");
+    return compiler.compile();
+  }
+
+  private static ClassLoaderRegistry.Entry compileAndDiscard(final String pkg, final boolean close) throws CompilationException, IOException {
+    final ClassLoader classLoader = compile(pkg);
+    if (close)
+      ((InMemoryClassLoader)classLoader).close();
+
+    return ClassLoaderRegistry.getEntry(classLoader);
+  }
+
+  @Test
+  public void testEntry() throws CompilationException, IOException {
+    final ClassLoader classLoader = compile("org.libj.jci.test.registry.entry");
+    final ClassLoaderRegistry.Entry entry = ClassLoaderRegistry.getEntry(classLoader);
+    assertNotNull(entry);
+    assertNull(ClassLoaderRegistry.getEntry(ClassLoader.getSystemClassLoader()));
+    assertEquals(3, entry.getDefinedClasses());
+    assertTrue(entry.getRetainedBytecodeBytes() > 0);
+    assertTrue(entry.getJarBytes() > 0);
+    assertFalse(entry.isClosed());
+    assertTrue(entry.isReachable());
+    assertTrue(ClassLoaderRegistry.getLiveEntries().contains(entry));
+
+    ((InMemoryClassLoader)classLoader).close();
+    assertTrue(entry.isClosed());
+    assertEquals(0, entry.getRetainedBytecodeBytes());
+    assertTrue(entry.getJarBytes() > 0);
+  }
+
+  @Test
+  public void testUnclosedUnreachable() throws CompilationException, InterruptedException, IOException {
+    final List<ClassLoaderRegistry.Entry> reported = new ArrayList<>();
+    ClassLoaderRegistry.setListener(new ClassLoaderRegistry.Listener() {
+      @Override
+      public void onUnclosedUnreachable(final ClassLoaderRegistry.Entry entry) {
+        reported.add(entry);
+      }
+    });
+
+    try {
+      final ClassLoaderRegistry.Entry unclosed = compileAndDiscard("org.libj.jci.test.registry.unclosed", false);
+      final ClassLoaderRegistry.Entry closed = compileAndDiscard("org.libj.jci.test.registry.closed", true);
+
+      for (int i = 0; i < 100 && (unclosed.isReachable() || closed.isReachable()); ++i) { // [N]
+        System.gc();
+        Thread.sleep(10);
+        ClassLoaderRegistry.getLiveCount();
+      }
+
+      assertFalse(unclosed.isReachable());
+      assertFalse(closed.isReachable());
+      assertTrue(reported.contains(unclosed));
+      assertFalse(reported.contains(closed));
+      assertFalse(ClassLoaderRegistry.getLiveEntries().contains(unclosed));
+    }
+    finally {
+      ClassLoaderRegistry.setListener(null);
+    }
+  }
+
+  @Test
+  public void testListenerException() throws CompilationException, InterruptedException, IOException {
+    final List<ClassLoaderRegistry.Entry> reported = new ArrayList<>();
+    final List<Throwable> uncaught = new ArrayList<>();
+    ClassLoaderRegistry.setListener(new ClassLoaderRegistry.Listener() {
+      @Override
+      public void onUnclosedUnreachable(final ClassLoaderRegistry.Entry entry) {
+        reported.add(entry);
+        throw new IllegalStateException();
+      }
+    });
+
+    final Thread thread = Thread.currentThread();
+    final Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+    thread.setUncaughtExceptionHandler((final Thread t, final Throwable e) -> uncaught.add(e));
+    try {
+      final ClassLoaderRegistry.Entry first = compileAndDiscard("org.libj.jci.test.registry.first", false);
+      final ClassLoaderRegistry.Entry second = compileAndDiscard("org.libj.jci.test.registry.second", false);
+
+      // The listener is called from within compile(), which must not fail because of it
+      for (int i = 0; i < 100 && !(reported.contains(first) && reported.contains(second)); ++i) { // [N]
+        System.gc();
+        Thread.sleep(10);
+        ((InMemoryClassLoader)compile("org.libj.jci.test.registry.other")).close();
+      }
+
+      assertTrue(reported.contains(first));
+      assertTrue(reported.contains(second));
+      assertEquals(reported.size(), uncaught.size());
+    }
+    finally {
+      thread.setUncaughtExceptionHandler(handler);
+      ClassLoaderRegistry.setListener(null);
+    }
+  }
+
+  @Test
+  public void testMaxAge() throws CompilationException, InterruptedException, IOException {
+    final List<ClassLoaderRegistry.Entry> reported = new ArrayList<>();
+    ClassLoaderRegistry.setListener(new ClassLoaderRegistry.Listener() {
+      @Override
+      public void onMaxAgeExceeded(final ClassLoaderRegistry.Entry entry) {
+        reported.add(entry);
+      }
+    });
+
+    try (final InMemoryClassLoader classLoader = (InMemoryClassLoader)compile("org.libj.jci.test.registry.age")) {
+      ClassLoaderRegistry.setMaxAge(1, TimeUnit.DAYS);
+      ClassLoaderRegistry.poll();
+      assertFalse(reported.contains(classLoader.getEntry()));
+
+      ClassLoaderRegistry.setMaxAge(1, TimeUnit.MILLISECONDS);
+      Thread.sleep(5);
+      assertTrue(ClassLoaderRegistry.poll() > 0);
+      ClassLoaderRegistry.poll();
+      assertEquals(1, reported.stream().filter(e -> e == classLoader.getEntry()).count());
+    }
+    finally {
+      ClassLoaderRegistry.setMaxAge(0, TimeUnit.MILLISECONDS);
+      ClassLoaderRegistry.setListener(null);
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/* Copyright (c) 2026 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.jci;
+
+import static org.junit.Assert.*;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import org.junit.Test;
+
+public class CompilerWorkerPoolTest {
+  /**
+   * An annotation processor that crashes the worker JVM in which it is run.
+   */
+  @SupportedAnnotationTypes("*")
+  public static class CrashProcessor extends AbstractProcessor {
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+      Runtime.getRuntime().halt(1);
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+      return false;
+    }
+  }
+
+  /**
+   * An annotation processor that hangs the worker JVM in which it is run.
+   */
+  @SupportedAnnotationTypes("*")
+  public static class HangProcessor extends AbstractProcessor {
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+      try {
+        Thread.sleep(Long.MAX_VALUE);
+      }
+      catch (final InterruptedException e) {
+      }
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+      return false;
+    }
+  }
+
+  private static int compileAndInvoke(final CompilerWorkerPool workerPool, final int n) throws Exception {
+    final InMemoryCompiler compiler = new InMemoryCompiler(workerPool);
+    compiler.addSource("package org.libj.jci.test.worker; public class Worker implements " + IntSupplier.class.getName() + " { public int getAsInt() { return new Inner().get(); } class Inner { int get() { return " + n + "; } } }");
+    try (final InMemoryClassLoader classLoader = (InMemoryClassLoader)compiler.compile("-g")) {
+      return ((IntSupplier)classLoader.loadClass("org.libj.jci.test.worker.Worker").getConstructor().newInstance()).getAsInt();
+    }
+  }
+
+  @Test
+  public void testCompile() throws Exception {
+    try (final CompilerWorkerPool workerPool = new CompilerWorkerPool(2, 2, 0.9)) {
+      assertEquals(2, workerPool.getSize());
+      // More jobs than workers, whereby each worker is restarted after 2 jobs
+      for (int i = 0; i < 6; ++i) // [N]
+        assertEquals(i, compileAndInvoke(workerPool, i));
+    }
+  }
+
+  @Test
+  public void testJvmOptions() throws Exception {
+    try (final CompilerWorkerPool workerPool = new CompilerWorkerPool(1, 10, 0.9, "-Xmx64m", "-Xss1m")) {
+      assertEquals(3, compileAndInvoke(workerPool, 3));
+    }
+
+    try (final CompilerWorkerPool workerPool = new CompilerWorkerPool(1, 10, 0.9, System.getProperty("java.class.path"), Arrays.asList("-Xmx64m"))) {
+      assertEquals(4, compileAndInvoke(workerPool, 4));
+    }
+  }
+
+  @Test
+  public void testJvmLogging() throws Exception {
+    // The JVM writes its own logging to standard output, which must not interfere with the protocol
+    try (final CompilerWorkerPool workerPool = new CompilerWorkerPool(1, 10, 0.9, "-Xmx32m", "-verbose:gc", "-XX:+PrintCommandLineFlags")) {
+      for (int i = 0; i < 3; ++i) // [N]
+        assertEquals(i, compileAndInvoke(workerPool, i));
+    }
+  }
+
+  @Test
+  public void testOffHeap() throws Exception {
+    try (final CompilerWorkerPool workerPool = new CompilerWorkerPool(1)) {
+      for (int i = 0; i < 2; ++i) { // [N]
+        final InMemoryCompiler compiler = new InMemoryCompiler(workerPool);
+        compiler.setOffHeap(true);
+        if (i == 1)
+          compiler.addTransformer(BytecodeTransformer.STRIP_ALL);
+
+        compiler.addSource("package org.libj.jci.test.worker; public class Worker implements " + IntSupplier.class.getName() + " { public int getAsInt() { return " + i + "; } }");
+        try (final InMemoryClassLoader classLoader = (InMemoryClassLoader)compiler.compile("-g")) {
+          assertTrue(classLoader.getEntry().getOffHeapBytes() > 0);
+          assertEquals(i, ((IntSupplier)classLoader.loadClass("org.libj.jci.test.worker.Worker").getConstructor().newInstance()).getAsInt());
+          try (final InputStream in = classLoader.getResourceAsStream("org/libj/jci/test/worker/Worker.class")) {
+            assertEquals(0xCAFEBABE, new DataInputStream(in).readInt());
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCompilationException() throws Exception {
+    try (final CompilerWorkerPool workerPool = new CompilerWorkerPool(1)) {
+      final InMemoryCompiler compiler = new InMemoryCompiler(workerPool);
+      compiler.addSource("package org.libj.jci.test.worker; public class Broken { int x = \"\"; }");
+      try {
+        compiler.compile();
+        fail("Expected CompilationException");
+      }
+      catch (final CompilationException e) {
+        assertEquals(1, e.getDiagnostics().size());
+        final Diagnostic<? extends JavaFileObject> diagnostic = e.getDiagnostics().get(0);
+        assertEquals(Diagnostic.Kind.ERROR, diagnostic.getKind());
+        assertEquals(1, diagnostic.getLineNumber());
+        assertNotNull(diagnostic.getSource());
+        assertNotNull(e.getMessage());
+      }
+
+      // The worker remains usable after a failed compilation
+      assertEquals(7, compileAndInvoke(workerPool, 7));
+    }
+  }
+
+  @Test
+  public void testCrashedWorker() throws Exception {
+    try (final CompilerWorkerPool workerPool = new CompilerWorkerPool(1)) {
+      final InMemoryCompiler compiler = new InMemoryCompiler(workerPool);
+      compiler.addSource("package org.libj.jci.test.worker; public class Crash { }");
+      try {
+        compiler.compile("-processor", CrashProcessor.class.getName());
+        fail("Expected IOException");
+      }
+      catch (final IOException e) {
+      }
+
+      // The crashed worker is replaced
+      for (int i = 0; i < 3; ++i) // [N]
+        assertEquals(i, compileAndInvoke(workerPool, i));
+    }
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    try (final CompilerWorkerPool workerPool = new CompilerWorkerPool(1)) {
+      workerPool.setTimeout(2, TimeUnit.SECONDS);
+      final InMemoryCompiler compiler = new InMemoryCompiler(workerPool);
+      compiler.addSource("package org.libj.jci.test.worker; public class Hang { }");
+      try {
+        compiler.compile("-processor", HangProcessor.class.getName());
+        fail("Expected IOException");
+      }
+      catch (final IOException e) {
+      }
+
+      // The hung worker is replaced
+      workerPool.setTimeout(1, TimeUnit.MINUTES);
+      assertEquals(5, compileAndInvoke(workerPool, 5));
+    }
+  }
+
+  @Test
+  public void testClosed() throws Exception {
+    final CompilerWorkerPool workerPool = new CompilerWorkerPool(1);
+    workerPool.close();
+    try {
+      compileAndInvoke(workerPool, 0);
+      fail("Expected IOException");
+    }
+    catch (final IOException e) {
+    }
+  }
+}
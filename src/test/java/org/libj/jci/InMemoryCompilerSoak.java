@@ -0,0 +1,189 @@
+/* Copyright (c) 2026 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.jci;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntSupplier;
+
+import org.junit.Test;
+
+/**
+ * Soak and stress tests of repeated compile, load and discard cycles, which assert that the discarded loaders and their classes
+ * are garbage collected and unloaded, and that heap, metaspace and direct memory usage remain bounded. These tests are excluded
+ * from the default build, and are run with:
+ *
+ * <pre>
+ * {@code
+ * mvn test -P soak [-Dsoak.cycles=N] [-Dsoak.threads=N] [-Dsoak.classes=N]
+ * }
+ * </pre>
+ */
+public class InMemoryCompilerSoak {
+  private static final int cycles = Integer.getInteger("soak.cycles", 2000);
+  private static final int threads = Integer.getInteger("soak.threads", Runtime.getRuntime().availableProcessors());
+  private static final int classes = Integer.getInteger("soak.classes", 2000);
+  private static final long maxHeapGrowth = Long.getLong("soak.maxHeapGrowth", 32 * 1024 * 1024);
+  private static final long maxMetaspaceGrowth = Long.getLong("soak.maxMetaspaceGrowth", 16 * 1024 * 1024);
+  private static final long maxDirectGrowth = Long.getLong("soak.maxDirectGrowth", 16 * 1024 * 1024);
+
+  private interface Cycles {
+    void run() throws Exception;
+  }
+
+  private static long getHeapUsed() {
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  private static long getMetaspaceUsed() {
+    for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) // [L]
+      if ("Metaspace".equals(pool.getName()))
+        return pool.getUsage().getUsed();
+
+    return 0;
+  }
+
+  private static long getDirectUsed() {
+    for (final BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) // [L]
+      if ("direct".equals(pool.getName()))
+        return pool.getMemoryUsed();
+
+    return 0;
+  }
+
+  private static void gc(final int liveCount) throws InterruptedException {
+    for (int i = 0; i < 50 && ClassLoaderRegistry.getLiveCount() > liveCount; ++i) { // [N]
+      System.gc();
+      Thread.sleep(20);
+    }
+
+    System.gc();
+  }
+
+  private static void cycle(final int n, final BytecodeTransformer transformer) throws Exception {
+    cycle(n, transformer, false);
+  }
+
+  private static void cycle(final int n, final BytecodeTransformer transformer, final boolean offHeap) throws Exception {
+    final InMemoryCompiler compiler = new InMemoryCompiler();
+    compiler.setOffHeap(offHeap);
+    compiler.addSource("package org.libj.jci.soak; public class Cycle implements " + IntSupplier.class.getName() + " { public int getAsInt() { return " + n + "; } }");
+    if (transformer != null)
+      compiler.addTransformer(transformer);
+
+    try (final InMemoryClassLoader classLoader = (InMemoryClassLoader)compiler.compile()) {
+      assertEquals(n, ((IntSupplier)classLoader.loadClass("org.libj.jci.soak.Cycle").getConstructor().newInstance()).getAsInt());
+    }
+  }
+
+  /**
+   * Runs the specified {@link Cycles} after a warmup, and asserts that all loaders created therein are garbage collected, that
+   * their classes are unloaded, and that heap, metaspace and direct memory usage grow by no more than the configured bounds.
+   *
+   * @param name The name of the soak.
+   * @param expectedClasses The number of classes defined by {@code cycles}.
+   * @param cycles The {@link Cycles} to run.
+   */
+  private static void soak(final String name, final long expectedClasses, final Cycles cycles) throws Exception {
+    for (int i = 0; i < 20; ++i) // [N]
+      cycle(i, null);
+
+    gc(0);
+    final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+    final int liveCount = ClassLoaderRegistry.getLiveCount();
+    final long created = ClassLoaderRegistry.getCreatedCount();
+    final long unclosedUnreachable = ClassLoaderRegistry.getUnclosedUnreachableCount();
+    final long unloaded = classLoading.getUnloadedClassCount();
+    final long heapUsed = getHeapUsed();
+    final long metaspaceUsed = getMetaspaceUsed();
+    final long directUsed = getDirectUsed();
+
+    final long start = System.currentTimeMillis();
+    cycles.run();
+    final long time = System.currentTimeMillis() - start;
+
+    gc(liveCount);
+    final long heapGrowth = getHeapUsed() - heapUsed;
+    final long metaspaceGrowth = getMetaspaceUsed() - metaspaceUsed;
+    final long directGrowth = getDirectUsed() - directUsed;
+    final long unloadedClasses = classLoading.getUnloadedClassCount() - unloaded;
+    System.out.println(name + ": " + (ClassLoaderRegistry.getCreatedCount() - created) + " loaders in " + time + "ms, unloaded classes: " + unloadedClasses + ", heap growth: " + heapGrowth + "B, metaspace growth: " + metaspaceGrowth + "B, direct growth: " + directGrowth + "B");
+
+    assertTrue("Loaders not garbage collected", ClassLoaderRegistry.getLiveCount() <= liveCount);
+    assertEquals("Loaders not closed", unclosedUnreachable, ClassLoaderRegistry.getUnclosedUnreachableCount());
+    assertTrue("Classes not unloaded: " + unloadedClasses + " < " + expectedClasses, unloadedClasses >= expectedClasses);
+    assertTrue("Heap growth " + heapGrowth + "B > " + maxHeapGrowth + "B", heapGrowth <= maxHeapGrowth);
+    assertTrue("Metaspace growth " + metaspaceGrowth + "B > " + maxMetaspaceGrowth + "B", metaspaceGrowth <= maxMetaspaceGrowth);
+    assertTrue("Direct memory growth " + directGrowth + "B > " + maxDirectGrowth + "B", directGrowth <= maxDirectGrowth);
+  }
+
+  @Test
+  public void testCompileLoadDiscard() throws Exception {
+    soak("compile/load/discard", cycles, () -> {
+      for (int i = 0; i < cycles; ++i) // [N]
+        cycle(i, null);
+    });
+  }
+
+  @Test
+  public void testConcurrentCompilation() throws Exception {
+    soak("concurrent", cycles, () -> {
+      final ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        final List<Future<?>> futures = new ArrayList<>(cycles);
+        for (int i = 0; i < cycles; ++i) { // [N]
+          final int n = i;
+          futures.add(executor.submit(() -> {
+            cycle(n, n % 2 == 0 ? null : BytecodeTransformer.STRIP_ALL, n % 4 >= 2);
+            return null;
+          }));
+        }
+
+        for (int i = 0, i$ = futures.size(); i < i$; ++i) // [RA]
+          futures.get(i).get();
+      }
+      finally {
+        executor.shutdown();
+      }
+    });
+  }
+
+  @Test
+  public void testLargeClassCount() throws Exception {
+    soak("large class count", classes, () -> {
+      for (int r = 0; r < 2; ++r) { // [N]
+        final InMemoryCompiler compiler = new InMemoryCompiler();
+        for (int i = 0; i < classes; ++i) // [N]
+          compiler.addSource("package org.libj.jci.soak.p" + (i % 16) + "; public class C" + i + " implements " + IntSupplier.class.getName() + " { public int getAsInt() { return " + i + "; } }");
+
+        try (final InMemoryClassLoader classLoader = (InMemoryClassLoader)compiler.compile()) {
+          for (int i = 0; i < classes; ++i) // [N]
+            assertEquals(i, ((IntSupplier)classLoader.loadClass("org.libj.jci.soak.p" + (i % 16) + ".C" + i).getConstructor().newInstance()).getAsInt());
+        }
+      }
+    });
+  }
+}
@@ -18,9 +18,14 @@ package org.libj.jci;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 
 import org.junit.Test;
 
@@ -66,4 +71,84 @@ public class InMemoryCompilerTest {
       }
     }
   }
-}
\ No newline at end of file
+
+  private static byte[] readResource(final ClassLoader classLoader, final String name) throws IOException {
+    try (final InputStream in = classLoader.getResourceAsStream(name)) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final byte[] buf = new byte[256];
+      for (int len; (len = in.read(buf)) != -1;)
+        out.write(buf, 0, len);
+
+      return out.toByteArray();
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testOffHeap() throws ClassNotFoundException, CompilationException, IllegalAccessException, InstantiationException, InvocationTargetException, IOException, NoSuchMethodException {
+    final InMemoryCompiler compiler = new InMemoryCompiler();
+    for (final String pkg : packages) // [A]
+      for (final String cls : classes) // [A]
+        compiler.addSource("package " + pkg + ";\npublic class " + cls + " implements " + ITest.class.getCanonicalName() + "{public void doSomething(){}}");
+
+    final ClassLoader onHeap = compiler.compile();
+    compiler.setOffHeap(true);
+    final InMemoryClassLoader classLoader = (InMemoryClassLoader)compiler.compile();
+    final ClassLoaderRegistry.Entry entry = ClassLoaderRegistry.getEntry(classLoader);
+    assertTrue(entry.getOffHeapBytes() > 0);
+    assertEquals(0, entry.getJarBytes());
+    assertEquals(0, entry.getRetainedBytecodeBytes());
+
+    for (final String pkg : packages) { // [A]
+      assertNotNull(classLoader.getResource(pkg.replace('.', '/')));
+      for (final String cls : classes) { // [A]
+        final String name = pkg.replace('.', '/') + "/" + cls + ".class";
+        assertArrayEquals(readResource(onHeap, name), readResource(classLoader, name));
+        final Class<ITest> test = (Class<ITest>)classLoader.loadClass(pkg + "." + cls);
+        assertSame(classLoader, test.getClassLoader());
+        test.getConstructor().newInstance().doSomething();
+      }
+    }
+
+    final InputStream in = classLoader.getResourceAsStream(packages[0].replace('.', '/') + "/" + classes[0] + ".class");
+    classLoader.close();
+    assertEquals(0, entry.getOffHeapBytes());
+    try {
+      in.read();
+      fail("Expected IOException");
+    }
+    catch (final IOException e) {
+    }
+
+    // Classes that have been defined remain usable after the off-heap memory is freed
+    ((Class<ITest>)classLoader.loadClass(packages[0] + "." + classes[0])).getConstructor().newInstance().doSomething();
+  }
+
+  private static long getDirectUsed() {
+    for (final BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) // [L]
+      if ("direct".equals(pool.getName()))
+        return pool.getMemoryUsed();
+
+    return 0;
+  }
+
+  @Test
+  public void testOffHeapDefinitionFailure() throws CompilationException, IOException {
+    final InMemoryCompiler compiler = new InMemoryCompiler();
+    compiler.setOffHeap(true);
+    compiler.addSource("package org.libj.jci.test.failure; public class Truncated { }");
+    ((InMemoryClassLoader)compiler.compile()).close();
+
+    // A transformer that corrupts the bytecode causes the definition of the class to fail after the arena is filled
+    compiler.addTransformer((final String className, final byte[] bytecode) -> Arrays.copyOf(bytecode, bytecode.length / 2));
+    final long directUsed = getDirectUsed();
+    try {
+      compiler.compile();
+      fail("Expected ClassFormatError");
+    }
+    catch (final ClassFormatError e) {
+    }
+
+    assertEquals(directUsed, getDirectUsed());
+  }
+}